@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 
 @Getter
 public class DataResponse<T> {
@@ -12,6 +13,12 @@ public class DataResponse<T> {
     @JsonInclude(NON_DEFAULT)
     private int count;
 
+    @JsonInclude(NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(NON_NULL)
+    private String prevCursor;
+
     private DataResponse(T data) {
         this.data = data;
     }
@@ -21,6 +28,12 @@ public class DataResponse<T> {
         this.count = count;
     }
 
+    private DataResponse(T data, String nextCursor, String prevCursor) {
+        this.data = data;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
     public static <T> DataResponse<T> of(T data) {
         return new DataResponse<>(data);
     }
@@ -28,4 +41,8 @@ public class DataResponse<T> {
     public static <T> DataResponse<T> of(T data, int count) {
         return new DataResponse<>(data, count);
     }
+
+    public static <T> DataResponse<T> of(T data, String nextCursor, String prevCursor) {
+        return new DataResponse<>(data, nextCursor, prevCursor);
+    }
 }
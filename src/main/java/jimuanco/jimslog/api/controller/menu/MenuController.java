@@ -4,13 +4,16 @@ import jimuanco.jimslog.api.DataResponse;
 import jimuanco.jimslog.api.controller.menu.request.MenuRequest;
 import jimuanco.jimslog.api.service.menu.MenuService;
 import jimuanco.jimslog.api.service.post.response.MenuResponse;
+import jimuanco.jimslog.utils.EtagUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,8 +24,15 @@ public class MenuController {
     private final MenuService menuService;
 
     @GetMapping("/menus")
-    public DataResponse<List<MenuResponse>> getMenus() {
+    public DataResponse<List<MenuResponse>> getMenus(ServletWebRequest webRequest) {
         List<MenuResponse> menus = menuService.getMenus();
+
+        List<Object> values = new ArrayList<>();
+        addEtagValues(menus, values);
+        if (EtagUtils.checkNotModified(webRequest, EtagUtils.of(values))) {
+            return null;
+        }
+
         int count = menus.stream().mapToInt(MenuResponse::getPostsCount).sum();
         return DataResponse.of(menus, count);
     }
@@ -34,4 +44,19 @@ public class MenuController {
                         .map(MenuRequest::toServiceRequest)
                         .collect(Collectors.toList()));
     }
+
+    private void addEtagValues(List<MenuResponse> menus, List<Object> values) {
+        if (menus == null) {
+            return;
+        }
+
+        values.add(menus.size());
+        for (MenuResponse menu : menus) {
+            values.add(menu.getId());
+            values.add(menu.getName());
+            values.add(menu.getListOrder());
+            values.add(menu.getPostsCount());
+            addEtagValues(menu.getChildren(), values);
+        }
+    }
 }
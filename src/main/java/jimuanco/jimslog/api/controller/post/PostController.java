@@ -1,23 +1,46 @@
 package jimuanco.jimslog.api.controller.post;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jimuanco.jimslog.api.DataResponse;
 import jimuanco.jimslog.api.controller.post.request.PostCreateRequest;
 import jimuanco.jimslog.api.controller.post.request.PostEditRequest;
+import jimuanco.jimslog.api.service.post.PostBodyCache;
 import jimuanco.jimslog.api.service.post.PostService;
 import jimuanco.jimslog.api.service.post.S3Uploader;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.request.PostTextSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostBatchResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse;
+import jimuanco.jimslog.api.service.post.response.PostNavigationResponse;
 import jimuanco.jimslog.api.service.post.response.PostResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
+import jimuanco.jimslog.api.service.post.view.PostViewCounter;
+import jimuanco.jimslog.utils.CursorUtils;
+import jimuanco.jimslog.utils.EtagUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,6 +48,8 @@ public class PostController {
 
     private final PostService postService;
     private final S3Uploader s3Uploader;
+    private final PostBodyCache postBodyCache;
+    private final PostViewCounter postViewCounter;
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @ResponseStatus(CREATED)
@@ -34,21 +59,107 @@ public class PostController {
     }
 
     @GetMapping("/posts/{postId}")
-    public DataResponse<PostResponse> getPost(@PathVariable(name = "postId") Long postId) {
-        return DataResponse.of(postService.getPost(postId));
+    public DataResponse<PostResponse> getPost(@PathVariable(name = "postId") Long postId,
+                                              @RequestParam(name = "navigation", required = false, defaultValue = "false") boolean navigation,
+                                              ServletWebRequest webRequest) throws IOException {
+        // 검증자도 캐시된 글에서 꺼내므로 캐시에 있으면 304든 200이든 DB를 조회하지 않는다.
+        PostResponse post = postService.getPost(postId);
+        LocalDateTime modifiedDateTime = post.getModifiedDateTime();
+        // 304로 응답하더라도 글을 본 것이므로 먼저 센다.
+        postViewCounter.increase(postId, getClientKey(webRequest));
+
+        // 이전/다음 글은 다른 글이 바뀔 때도 달라지므로 ETag에 함께 넣는다.
+        PostNavigationResponse postNavigation = navigation ? postService.getPostNavigation(postId) : null;
+        String etag = (postNavigation != null)
+                ? EtagUtils.of(List.of(postId, String.valueOf(modifiedDateTime), postNavigation))
+                : EtagUtils.of(List.of(postId, String.valueOf(modifiedDateTime)));
+        if (EtagUtils.checkNotModified(webRequest, etag, postNavigation != null ? null : modifiedDateTime)) {
+            return null;
+        }
+
+        if (acceptsGzip(webRequest)) {
+            byte[] gzipped = postBodyCache.getGzipped(postId, etag, () -> DataResponse.of(withNavigation(post, postNavigation)));
+            if (gzipped != null) {
+                writeGzipped(webRequest.getResponse(), gzipped);
+                return null;
+            }
+        }
+
+        return DataResponse.of(withNavigation(post, postNavigation));
     }
 
     @GetMapping("/posts")
-    public DataResponse<List<PostResponse>> getPostList( //todo 왜 ModelAttribute에 생성자 방식이 안먹히지?
+    public DataResponse<List<PostSummaryResponse>> getPostList( //todo 왜 ModelAttribute에 생성자 방식이 안먹히지?
             @RequestParam(name = "page", required = false, defaultValue = "1") int page,
             @RequestParam(name = "size", required = false, defaultValue = "10") int size,
-            @RequestParam(name = "menu", required = false, defaultValue = "0") int menuId) {
+            @RequestParam(name = "menu", required = false, defaultValue = "0") int menuId,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "before", required = false) String before,
+            @RequestParam(name = "tag", required = false) String tag,
+            ServletWebRequest webRequest) {
         PostSearchServiceRequest serviceRequest = PostSearchServiceRequest.builder()
                 .page(page)
                 .size(size)
                 .menuId(menuId)
+                .after(CursorUtils.decode(after))
+                .before(CursorUtils.decode(before))
+                .tag(tag)
                 .build();
-        return DataResponse.of(postService.getPostList(serviceRequest));
+        List<PostSummaryResponse> posts = postService.getPostList(serviceRequest);
+
+        if (posts.isEmpty()) {
+            return notModifiedOr(webRequest, posts, null, null);
+        }
+
+        // 페이지가 가득 찼으면 다음 페이지가 있을 수 있으므로 마지막 글 ID를 커서로 내려준다.
+        boolean isFull = posts.size() >= serviceRequest.getLimit();
+        String nextCursor = (isFull || serviceRequest.getBefore() != null)
+                ? CursorUtils.encode(posts.get(posts.size() - 1).getId()) : null;
+        String prevCursor = (serviceRequest.getAfter() != null || (isFull && serviceRequest.getBefore() != null))
+                ? CursorUtils.encode(posts.get(0).getId()) : null;
+
+        return notModifiedOr(webRequest, posts, nextCursor, prevCursor);
+    }
+
+    @GetMapping("/posts/batch")
+    public DataResponse<PostBatchResponse> getPostBatch(@RequestParam(name = "ids") List<Long> postIds) {
+        return DataResponse.of(postService.getPostBatch(postIds));
+    }
+
+    @GetMapping("/posts/popular")
+    public DataResponse<List<PostSummaryResponse>> getPopularPosts(
+            @RequestParam(name = "size", required = false, defaultValue = "10") int size) {
+        return DataResponse.of(postService.getPopularPosts(size));
+    }
+
+    @GetMapping("/posts/search")
+    public DataResponse<List<PostSearchResultResponse>> searchPosts(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "page", required = false, defaultValue = "1") int page,
+            @RequestParam(name = "size", required = false, defaultValue = "10") int size) {
+        PostSearchResponse response = postService.searchPosts(PostTextSearchServiceRequest.builder()
+                .query(query)
+                .page(page)
+                .size(size)
+                .build());
+        return DataResponse.of(response.getPosts(), response.getTotal());
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/posts/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return ResponseEntity.ok()
+                .header(CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson\"")
+                .contentType(APPLICATION_NDJSON)
+                .body(postService::exportPosts);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/posts/import", consumes = APPLICATION_NDJSON_VALUE)
+    public DataResponse<PostImportResponse> importPosts(
+            @RequestParam(name = "chunkSize", required = false) Integer chunkSize,
+            HttpServletRequest request) throws IOException {
+        return DataResponse.of(postService.importPosts(request.getInputStream(), chunkSize));
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -67,8 +178,68 @@ public class PostController {
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/posts/image")
-    public DataResponse<String> uploadPostImage (
+    public DataResponse<PostImageResponse> uploadPostImage (
             @RequestParam("postImage") MultipartFile multipartFile) throws IOException {
-        return DataResponse.of(s3Uploader.upload(multipartFile, "images"));
+        return DataResponse.of(s3Uploader.uploadImage(multipartFile, "images"));
+    }
+
+    @GetMapping("/posts/image")
+    public DataResponse<PostImageResponse> getPostImage(@RequestParam("url") String imageUrl) {
+        return DataResponse.of(postService.getPostImage(imageUrl));
+    }
+
+    private DataResponse<List<PostSummaryResponse>> notModifiedOr(ServletWebRequest webRequest,
+                                                                  List<PostSummaryResponse> posts,
+                                                                  String nextCursor, String prevCursor) {
+        List<Object> values = new ArrayList<>();
+        values.add(nextCursor);
+        values.add(prevCursor);
+        for (PostSummaryResponse post : posts) {
+            values.add(post.getId());
+            values.add(post.getTitle());
+            values.add(post.getCreatedDateTime());
+            values.add(post.getMenuId());
+            values.add(post.getExcerpt());
+            values.add(post.getWordCount());
+        }
+
+        if (EtagUtils.checkNotModified(webRequest, EtagUtils.of(values))) {
+            return null;
+        }
+        return DataResponse.of(posts, nextCursor, prevCursor);
+    }
+
+    private PostResponse withNavigation(PostResponse post, PostNavigationResponse postNavigation) {
+        return (postNavigation != null) ? post.withNavigation(postNavigation) : post;
+    }
+
+    private String getClientKey(ServletWebRequest webRequest) {
+        return webRequest.getRequest().getRemoteAddr() + "|" + webRequest.getHeader(USER_AGENT);
+    }
+
+    private boolean acceptsGzip(ServletWebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 이미 압축된 바이트를 그대로 내려준다, Content-Encoding이 지정된 응답은 서버 압축을 다시 거치지 않는다.
+     */
+    private void writeGzipped(HttpServletResponse response, byte[] gzipped) throws IOException {
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.setHeader(CONTENT_ENCODING, "gzip");
+        response.setHeader(VARY, ACCEPT_ENCODING);
+        response.setContentLength(gzipped.length);
+        response.getOutputStream().write(gzipped);
     }
 }
@@ -1,6 +1,7 @@
 package jimuanco.jimslog.api.controller.post.request;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import jimuanco.jimslog.api.service.post.request.PostCreateServiceRequest;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,14 +25,19 @@ public class PostCreateRequest {
 
     private List<String> deleteImageUrls;
 
+    @Size(max = 10, message = "태그는 10개까지 입력할 수 있습니다.")
+    private List<@Size(max = 30, message = "태그는 30자까지 입력할 수 있습니다.") String> tags;
+
     @Builder
     private PostCreateRequest(String title, String content, int menuId,
-                              List<String> uploadImageUrls, List<String> deleteImageUrls) {
+                              List<String> uploadImageUrls, List<String> deleteImageUrls,
+                              List<String> tags) {
         this.title = title;
         this.content = content;
         this.menuId = menuId;
         this.uploadImageUrls = uploadImageUrls;
         this.deleteImageUrls = deleteImageUrls;
+        this.tags = tags;
     }
 
     public PostCreateServiceRequest toServiceRequest() {
@@ -41,6 +47,7 @@ public class PostCreateRequest {
                 .menuId(menuId)
                 .uploadImageUrls(uploadImageUrls)
                 .deleteImageUrls(deleteImageUrls)
+                .tags(tags)
                 .build();
     }
 }
@@ -0,0 +1,22 @@
+package jimuanco.jimslog.api.controller.tag;
+
+import jimuanco.jimslog.api.DataResponse;
+import jimuanco.jimslog.api.service.tag.TagService;
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagService tagService;
+
+    @GetMapping("/tags")
+    public DataResponse<List<TagResponse>> getTags() {
+        return DataResponse.of(tagService.getTagCloud());
+    }
+}
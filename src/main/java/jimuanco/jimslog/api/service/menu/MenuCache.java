@@ -0,0 +1,87 @@
+package jimuanco.jimslog.api.service.menu;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jimuanco.jimslog.api.service.post.response.MenuResponse;
+import jimuanco.jimslog.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 모든 페이지에서 요청하는 메뉴 트리(글 갯수 포함) 로컬 캐시
+ * 메뉴 변경, 글 등록/수정/삭제시 무효화된다.
+ */
+@Slf4j
+@Component
+public class MenuCache {
+
+    private static final String EVICT_CHANNEL = "menu-cache:evict";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile List<MenuResponse> menus;
+    private long generation;
+
+    public MenuCache(StringRedisTemplate redisTemplate,
+                     MeterRegistry meterRegistry,
+                     RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.hits = meterRegistry.counter("jimslog.cache.menu", "result", "hit");
+        this.misses = meterRegistry.counter("jimslog.cache.menu", "result", "miss");
+
+        // 다른 WAS에서 메뉴나 글이 바뀌면 로컬 캐시를 지운다.
+        listenerContainer.addMessageListener((message, pattern) -> clear(), new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    public List<MenuResponse> get(Supplier<List<MenuResponse>> loader) {
+        List<MenuResponse> cached = menus;
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadingGeneration = currentGeneration();
+        List<MenuResponse> loaded = List.copyOf(loader.get());
+
+        // 조회하는 동안 무효화되었다면 옛 메뉴 트리를 캐싱하지 않는다.
+        synchronized (this) {
+            if (generation == loadingGeneration) {
+                menus = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 트랜잭션 중에 바로 지우고, 커밋 전에 다른 요청이 옛 메뉴 트리를 다시 캐싱했을 수 있으므로 커밋 후 한번 더 지운다.
+     */
+    public void evict() {
+        clear();
+        TransactionUtils.runAfterCommit(() -> {
+            clear();
+            try {
+                redisTemplate.convertAndSend(EVICT_CHANNEL, "all");
+            } catch (RuntimeException e) {
+                log.warn("메뉴 캐시 무효화 메시지 발행 실패", e);
+            }
+        });
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void clear() {
+        generation++;
+        menus = null;
+    }
+}
@@ -20,13 +20,15 @@ public class MenuService {
 
     private final MenuRepository menuRepository;
     private final MenuBulkRepository menuBulkRepository;
+    private final MenuCache menuCache;
 
     @Value("${bulk}")
     private boolean bulk;
 
     public List<MenuResponse> getMenus() {
-        List<Menu> allMenus = menuRepository.findAllMenus();
-        return allMenus.stream().map(MenuResponse::new).collect(Collectors.toList());
+        return menuCache.get(() -> menuRepository.findAllMenus().stream()
+                .map(MenuResponse::of)
+                .collect(Collectors.toList()));
     }
 
     @Transactional
@@ -57,6 +59,8 @@ public class MenuService {
         if (mainMenusToDelete.size() != 0) {
             menuRepository.deleteAllByIdInQuery(mainMenusToDelete);
         }
+
+        menuCache.evict();
     }
 
     private void processMenuChanges(List<MenuServiceRequest> serviceRequests, List<Menu> oldMenus, Menu parent,
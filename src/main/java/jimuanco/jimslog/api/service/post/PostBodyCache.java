@@ -0,0 +1,99 @@
+package jimuanco.jimslog.api.service.post;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 글 단건 조회 응답을 직렬화 + gzip 압축한 바이트 캐시
+ * 키에 ETag가 포함되므로 글이 수정되면 자연히 새 키로 바뀌고, 옛 항목은 용량 제한에 의해 밀려난다.
+ */
+@Component
+public class PostBodyCache {
+
+    private static final byte[] TOO_SMALL = new byte[0];
+
+    private final Cache<String, byte[]> cache;
+    private final ObjectMapper objectMapper;
+    private final long minSize;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final DistributionSummary compressionRatio;
+    private final Timer compressionCpuTime;
+
+    public PostBodyCache(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${jimslog.cache.post-body.max-size}") DataSize maxSize,
+                         @Value("${jimslog.cache.post-body.min-compress-size}") DataSize minSize) {
+        this.objectMapper = objectMapper;
+        this.minSize = minSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, byte[] body) -> key.length() + body.length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post-body");
+        this.compressionRatio = DistributionSummary.builder("jimslog.compression.ratio")
+                .description("압축 후 크기 / 압축 전 크기")
+                .register(meterRegistry);
+        this.compressionCpuTime = Timer.builder("jimslog.compression.cpu")
+                .description("직렬화 + gzip 압축에 사용한 CPU 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 압축된 응답 바이트, 직렬화한 크기가 기준보다 작으면 압축 이득이 없으므로 null을 반환한다.
+     */
+    public byte[] getGzipped(Long postId, String etag, Supplier<Object> bodyLoader) {
+        byte[] gzipped = cache.get(postId + ":" + etag, key -> compress(bodyLoader.get()));
+        return gzipped == TOO_SMALL ? null : gzipped;
+    }
+
+    private byte[] compress(Object body) {
+        long startCpuTime = currentThreadCpuTime();
+
+        byte[] serialized;
+        try {
+            serialized = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        if (serialized.length < minSize) {
+            return TOO_SMALL;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(serialized.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(serialized);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzipped = out.toByteArray();
+
+        compressionCpuTime.record(currentThreadCpuTime() - startCpuTime, TimeUnit.NANOSECONDS);
+        compressionRatio.record((double) gzipped.length / serialized.length);
+        return gzipped;
+    }
+
+    private long currentThreadCpuTime() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
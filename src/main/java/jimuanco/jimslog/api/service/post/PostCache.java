@@ -0,0 +1,280 @@
+package jimuanco.jimslog.api.service.post;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jimuanco.jimslog.api.service.post.response.PostNavigationResponse;
+import jimuanco.jimslog.api.service.post.response.PostResponse;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 글 단건 조회 캐시
+ * 1차: WAS 로컬 메모리(Caffeine, W-TinyLFU), 2차: Redis
+ * 이전/다음 글, 글 요약(여러 글 조회용)도 같은 구조로 따로 캐시한다.
+ * 인기 글 목록은 자주 바뀌므로 로컬에만 짧게 캐시한다.
+ */
+@Slf4j
+@Component
+public class PostCache {
+
+    private static final String KEY_PREFIX = "post:";
+    private static final String EVICT_CHANNEL = "post-cache:evict";
+    private static final String SUMMARY_KEY_PREFIX = "post-summary:";
+    private static final String NAVIGATION_KEY_PREFIX = "post-navigation:";
+    private static final String NAVIGATION_VERSION_KEY = "post-navigation:version";
+    private static final String NAVIGATION_EVICT_CHANNEL = "post-navigation:evict";
+
+    private final Cache<Long, PostResponse> localCache;
+    private final Cache<Long, PostNavigationResponse> navigationCache;
+    private final Cache<Long, PostSummaryResponse> summaryCache;
+    private final Cache<Integer, List<PostSummaryResponse>> popularCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter summaryRedisHits;
+    private final Counter summaryRedisMisses;
+
+    public PostCache(StringRedisTemplate redisTemplate,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     RedisMessageListenerContainer listenerContainer,
+                     @Value("${jimslog.cache.post.local-size}") long localSize,
+                     @Value("${jimslog.cache.post.local-ttl}") Duration localTtl,
+                     @Value("${jimslog.cache.post.redis-ttl}") Duration redisTtl,
+                     @Value("${jimslog.cache.post.popular-ttl}") Duration popularTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        this.navigationCache = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+
+        this.summaryCache = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+
+        this.popularCache = Caffeine.newBuilder()
+                .expireAfterWrite(popularTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "post");
+        CaffeineCacheMetrics.monitor(meterRegistry, navigationCache, "post-navigation");
+        CaffeineCacheMetrics.monitor(meterRegistry, summaryCache, "post-summary");
+        CaffeineCacheMetrics.monitor(meterRegistry, popularCache, "post-popular");
+        this.redisHits = meterRegistry.counter("jimslog.cache.post.redis", "result", "hit");
+        this.redisMisses = meterRegistry.counter("jimslog.cache.post.redis", "result", "miss");
+        this.summaryRedisHits = meterRegistry.counter("jimslog.cache.post-summary.redis", "result", "hit");
+        this.summaryRedisMisses = meterRegistry.counter("jimslog.cache.post-summary.redis", "result", "miss");
+
+        // 다른 WAS에서 수정/삭제된 글은 로컬 캐시에서도 지운다.
+        listenerContainer.addMessageListener(
+                (message, pattern) -> {
+                    List<Long> postIds = Arrays.stream(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+                            .map(Long::valueOf)
+                            .toList();
+                    localCache.invalidateAll(postIds);
+                    summaryCache.invalidateAll(postIds);
+                },
+                new ChannelTopic(EVICT_CHANNEL));
+        listenerContainer.addMessageListener(
+                (message, pattern) -> navigationCache.invalidateAll(),
+                new ChannelTopic(NAVIGATION_EVICT_CHANNEL));
+    }
+
+    public PostResponse get(Long postId, Supplier<PostResponse> loader) {
+        return localCache.get(postId, id -> getFromRedis(id, loader));
+    }
+
+    /**
+     * 트랜잭션 중에 바로 지운다.
+     * 커밋 직전에 다른 요청이 옛 글을 다시 캐싱했을 수 있으므로 커밋 후 PostChangePipeline에서 evictAll로 한번 더 지운다.
+     */
+    public void evict(Long postId) {
+        evictAll(List.of(postId));
+    }
+
+    public void evictAll(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        localCache.invalidateAll(postIds);
+        summaryCache.invalidateAll(postIds);
+        try {
+            redisTemplate.delete(postIds.stream()
+                    .flatMap(postId -> Stream.of(KEY_PREFIX + postId, SUMMARY_KEY_PREFIX + postId))
+                    .toList());
+            redisTemplate.convertAndSend(EVICT_CHANNEL,
+                    postIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            log.warn("Redis 글 캐시 삭제 실패. postIds: {}", postIds, e);
+        }
+    }
+
+    /**
+     * 로컬 캐시에 없는 글만 Redis MGET 한번으로 찾고, 거기에도 없는 글만 loader로 한번에 읽는다.
+     * 존재하지 않는 글은 결과에 넣지 않고 캐시하지도 않는다.
+     */
+    public Map<Long, PostSummaryResponse> getSummaries(List<Long> postIds,
+                                                       Function<List<Long>, Map<Long, PostSummaryResponse>> loader) {
+        return summaryCache.getAll(postIds, ids -> getSummariesFromRedis(List.copyOf(ids), loader));
+    }
+
+    public List<PostSummaryResponse> getPopular(int size, Supplier<List<PostSummaryResponse>> loader) {
+        return popularCache.get(size, key -> loader.get());
+    }
+
+    public PostNavigationResponse getNavigation(Long postId, Supplier<PostNavigationResponse> loader) {
+        return navigationCache.get(postId, id -> getNavigationFromRedis(id, loader));
+    }
+
+    /**
+     * 글이 생기거나 지워지거나 제목/메뉴가 바뀌면 어느 글의 이전/다음이 바뀌었는지 따로 찾지 않고 모두 지운다.
+     * Redis에서는 글마다 키에 버전을 넣어 두었으므로 버전만 올리면 옛 키는 읽지 않고 각자 TTL로 사라진다.
+     */
+    public void evictNavigations() {
+        navigationCache.invalidateAll();
+        try {
+            redisTemplate.opsForValue().increment(NAVIGATION_VERSION_KEY);
+            redisTemplate.convertAndSend(NAVIGATION_EVICT_CHANNEL, "all");
+        } catch (RuntimeException e) {
+            log.warn("Redis 이전/다음 글 캐시 삭제 실패.", e);
+        }
+    }
+
+    private Map<Long, PostSummaryResponse> getSummariesFromRedis(
+            List<Long> postIds, Function<List<Long>, Map<Long, PostSummaryResponse>> loader) {
+        Map<Long, PostSummaryResponse> summaries = new HashMap<>();
+
+        try {
+            List<String> cached = redisTemplate.opsForValue().multiGet(
+                    postIds.stream().map(postId -> SUMMARY_KEY_PREFIX + postId).toList());
+            for (int i = 0; cached != null && i < postIds.size(); i++) {
+                if (cached.get(i) != null) {
+                    summaries.put(postIds.get(i), objectMapper.readValue(cached.get(i), PostSummaryResponse.class));
+                }
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 글 요약 캐시 조회 실패. postIds: {}", postIds, e);
+        }
+
+        List<Long> missedIds = postIds.stream()
+                .filter(postId -> !summaries.containsKey(postId))
+                .toList();
+        summaryRedisHits.increment(summaries.size());
+        summaryRedisMisses.increment(missedIds.size());
+        if (missedIds.isEmpty()) {
+            return summaries;
+        }
+
+        Map<Long, PostSummaryResponse> loaded = loader.apply(missedIds);
+        summaries.putAll(loaded);
+
+        try {
+            Map<String, String> values = new HashMap<>();
+            for (PostSummaryResponse summary : loaded.values()) {
+                values.put(SUMMARY_KEY_PREFIX + summary.getId(), objectMapper.writeValueAsString(summary));
+            }
+            // TTL을 주기 위해 MSET 대신 SET을 파이프라인으로 한번에 보낸다.
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    @SuppressWarnings("unchecked")
+                    RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                    values.forEach((key, value) -> stringOperations.opsForValue().set(key, value, redisTtl));
+                    return null;
+                }
+            });
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 글 요약 캐시 저장 실패. postIds: {}", missedIds, e);
+        }
+        return summaries;
+    }
+
+    private PostNavigationResponse getNavigationFromRedis(Long postId, Supplier<PostNavigationResponse> loader) {
+        String key = null;
+
+        try {
+            String version = redisTemplate.opsForValue().get(NAVIGATION_VERSION_KEY);
+            key = NAVIGATION_KEY_PREFIX + (version != null ? version : "0") + ":" + postId;
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return objectMapper.readValue(cached, PostNavigationResponse.class);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 이전/다음 글 캐시 조회 실패. postId: {}", postId, e);
+        }
+
+        PostNavigationResponse response = loader.get();
+
+        if (key == null) {
+            return response;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(response), redisTtl);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 이전/다음 글 캐시 저장 실패. postId: {}", postId, e);
+        }
+        return response;
+    }
+
+    private PostResponse getFromRedis(Long postId, Supplier<PostResponse> loader) {
+        String key = KEY_PREFIX + postId;
+
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                redisHits.increment();
+                return objectMapper.readValue(cached, PostResponse.class);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 글 캐시 조회 실패. postId: {}", postId, e);
+        }
+
+        redisMisses.increment();
+        PostResponse response = loader.get();
+
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(response), redisTtl);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 글 캐시 저장 실패. postId: {}", postId, e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,64 @@
+package jimuanco.jimslog.api.service.post;
+
+import jimuanco.jimslog.api.service.post.event.PostChangedEvent;
+import jimuanco.jimslog.api.service.tag.TagService;
+import jimuanco.jimslog.domain.menu.MenuBulkRepository;
+import jimuanco.jimslog.domain.post.PostBulkRepository;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostImportDto;
+import jimuanco.jimslog.domain.tag.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static jimuanco.jimslog.api.service.post.event.PostChangedEvent.Type.CREATED;
+
+/**
+ * 글 가져오기에서 chunk 하나를 한 트랜잭션으로 저장한다.
+ * 글, 글-태그 연결, 메뉴 글 갯수를 각각 batch로 한번에 보낸다.
+ */
+@RequiredArgsConstructor
+@Component
+public class PostImporter {
+
+    private final PostBulkRepository postBulkRepository;
+    private final MenuBulkRepository menuBulkRepository;
+    private final TagService tagService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<Long> importChunk(List<PostImportDto> posts, List<List<String>> tagNames) {
+        List<Long> postIds = postBulkRepository.createPosts(posts);
+
+        List<Set<String>> normalizedTagNames = tagNames.stream()
+                .map(names -> names.stream()
+                        .map(Tag::normalize)
+                        .filter(name -> !name.isEmpty())
+                        .collect(Collectors.<String, Set<String>>toCollection(LinkedHashSet::new)))
+                .toList();
+        Map<String, Long> tagIds = tagService.getOrCreateTagIds(normalizedTagNames.stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+
+        Map<Long, List<Long>> tagIdsByPostId = new HashMap<>();
+        Map<Long, Integer> postCounts = new HashMap<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            tagIdsByPostId.put(postIds.get(i), normalizedTagNames.get(i).stream().map(tagIds::get).toList());
+            if (posts.get(i).getMenuId() != null) {
+                postCounts.merge(posts.get(i).getMenuId(), 1, Integer::sum);
+            }
+        }
+        postBulkRepository.createPostTags(tagIdsByPostId);
+        menuBulkRepository.increasePostCounts(postCounts);
+
+        postIds.forEach(postId -> eventPublisher.publishEvent(PostChangedEvent.of(postId, CREATED)));
+        return postIds;
+    }
+}
@@ -0,0 +1,731 @@
+package jimuanco.jimslog.api.service.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jimuanco.jimslog.api.service.post.search.IndexManifest;
+import jimuanco.jimslog.api.service.post.search.IndexManifest.SegmentEntry;
+import jimuanco.jimslog.api.service.post.search.IndexSegment;
+import jimuanco.jimslog.api.service.post.search.IndexSegmentWriter;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostIndexDto;
+import jimuanco.jimslog.utils.SearchTokenizer;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * 글 제목/본문 전문 검색용 역색인
+ * 색인은 디스크의 불변 세그먼트 파일들로 저장되고 메모리 맵으로 읽는다.
+ * 글이 색인될 때마다 새 세그먼트가 추가되고, 이전 세그먼트의 같은 글은 삭제 표시만 한다.
+ * 세그먼트가 max-segments개를 넘으면 백그라운드에서 작은 세그먼트들을 합친다.
+ * 점수는 BM25, 제목의 단어는 본문보다 TITLE_WEIGHT배 가중치를 준다.
+ * posting마다 단어가 본문에 처음 나오는 위치를 저장해 두어, 검색 결과 미리보기를 본문을 다시 훑지 않고 만든다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final String MANIFEST = "manifest.json";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final Comparator<byte[]> TERM_ORDER = Arrays::compareUnsigned;
+
+    private final Path directory;
+    private final int maxSegments;
+    private final int mergeFactor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 읽기(검색)와 상태 변경을 나누는 락, 변경끼리는 updateLock으로 한번에 하나씩만 실행한다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantLock mergeLock = new ReentrantLock();
+
+    private final ExecutorService mergeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-search-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean mergeScheduled = new AtomicBoolean();
+
+    private final List<SegmentState> segments = new ArrayList<>();
+    private final Map<Long, DocRef> liveDocs = new HashMap<>();
+    private long totalLength;
+    private long generation;
+    private LocalDateTime checkpoint;
+
+    private final Timer searchTimer;
+
+    public PostSearchIndex(MeterRegistry meterRegistry,
+                           @Value("${jimslog.search.index-dir}") String directory,
+                           @Value("${jimslog.search.max-segments}") int maxSegments,
+                           @Value("${jimslog.search.merge-factor}") int mergeFactor) {
+        this.directory = Paths.get(directory);
+        this.maxSegments = maxSegments;
+        this.mergeFactor = Math.max(2, mergeFactor);
+        this.searchTimer = meterRegistry.timer("jimslog.search.latency");
+        meterRegistry.gauge("jimslog.search.documents", this, PostSearchIndex::getDocCount);
+        meterRegistry.gauge("jimslog.search.segments", this, PostSearchIndex::getSegmentCount);
+
+        open();
+    }
+
+    /**
+     * 글을 색인한다, 이미 색인된 글이면 이전 세그먼트의 글은 삭제 표시된다.
+     */
+    public void index(Long postId, String title, String plainContent) {
+        indexAll(List.of(PostIndexDto.builder()
+                .id(postId)
+                .title(title)
+                .content(plainContent)
+                .plainContent(plainContent)
+                .build()));
+    }
+
+    /**
+     * 여러 글을 하나의 세그먼트로 색인한다.
+     */
+    public void indexAll(List<PostIndexDto> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            String name = "seg_" + (generation + 1) + SEGMENT_SUFFIX;
+            SegmentState segment = new SegmentState(writeSegment(directory.resolve(name), posts), new HashSet<>());
+
+            lock.writeLock().lock();
+            try {
+                generation++;
+                segments.add(segment);
+                for (int ordinal = 0; ordinal < segment.segment.getDocCount(); ordinal++) {
+                    addLiveDoc(segment, ordinal);
+                }
+                if (checkpoint != null) {
+                    posts.stream()
+                            .map(PostIndexDto::getModifiedDateTime)
+                            .filter(Objects::nonNull)
+                            .max(Comparator.naturalOrder())
+                            .filter(modifiedDateTime -> modifiedDateTime.isAfter(checkpoint))
+                            .ifPresent(modifiedDateTime -> checkpoint = modifiedDateTime);
+                }
+                writeManifest();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+
+        scheduleMergeIfNeeded();
+    }
+
+    public void remove(Long postId) {
+        updateLock.lock();
+        lock.writeLock().lock();
+        try {
+            if (removeLiveDoc(postId)) {
+                writeManifest();
+            }
+        } finally {
+            lock.writeLock().unlock();
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 모든 세그먼트를 지운다, 전체 색인을 새로 만들기 전에 호출한다.
+     */
+    public void clear() {
+        updateLock.lock();
+        lock.writeLock().lock();
+        try {
+            List<SegmentState> removed = new ArrayList<>(segments);
+            segments.clear();
+            liveDocs.clear();
+            totalLength = 0;
+            checkpoint = null;
+            writeManifest();
+            removed.forEach(segment -> deleteSegmentFile(segment.segment.getName()));
+        } finally {
+            lock.writeLock().unlock();
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 전체 색인이 끝난 시점을 기록한다, 이후 WAS 재시작시 이 시각 이후 수정된 글만 다시 색인하면 된다.
+     */
+    public void updateCheckpoint(LocalDateTime checkpoint) {
+        updateLock.lock();
+        lock.writeLock().lock();
+        try {
+            this.checkpoint = checkpoint;
+            writeManifest();
+        } finally {
+            lock.writeLock().unlock();
+            updateLock.unlock();
+        }
+    }
+
+    public LocalDateTime getCheckpoint() {
+        lock.readLock().lock();
+        try {
+            return checkpoint;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> getLiveIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(liveDocs.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocCount() {
+        lock.readLock().lock();
+        try {
+            return liveDocs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PostSearchHits search(String query, long offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTokenizer.terms(query));
+        if (queryTerms.isEmpty()) {
+            return PostSearchHits.builder().total(0).postIds(List.of()).positions(Map.of()).terms(Set.of()).build();
+        }
+
+        return searchTimer.record(() -> {
+            Map<Long, Double> scores = new HashMap<>();
+            Map<Long, Match> matches = new HashMap<>();
+
+            lock.readLock().lock();
+            try {
+                int docCount = liveDocs.size();
+                double avgLength = docCount == 0 ? 0 : (double) totalLength / docCount;
+
+                for (String term : queryTerms) {
+                    int[] termOrdinals = new int[segments.size()];
+                    int df = 0;
+                    for (int i = 0; i < segments.size(); i++) {
+                        SegmentState segment = segments.get(i);
+                        termOrdinals[i] = segment.segment.findTerm(term);
+                        df += countLivePostings(segment, termOrdinals[i]);
+                    }
+                    if (df == 0) {
+                        continue;
+                    }
+
+                    double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                    for (int i = 0; i < segments.size(); i++) {
+                        addScores(segments.get(i), termOrdinals[i], idf, avgLength, scores, matches);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // 점수가 같으면 최신 글이 먼저 오도록 id 내림차순
+            List<Long> postIds = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            Map<Long, Integer> positions = new HashMap<>();
+            postIds.stream()
+                    .filter(matches::containsKey)
+                    .forEach(postId -> positions.put(postId, matches.get(postId).position));
+
+            return PostSearchHits.builder()
+                    .total(scores.size())
+                    .postIds(postIds)
+                    .positions(positions)
+                    .terms(queryTerms)
+                    .build();
+        });
+    }
+
+    /**
+     * 세그먼트가 max-segments개 이하가 될 때까지 살아있는 글이 적은 세그먼트 merge-factor개씩 하나로 합친다.
+     * 합치는 동안에도 색인/검색은 계속되고, 그 사이 삭제된 글은 합친 세그먼트에 다시 삭제 표시한다.
+     */
+    public void mergeIfNeeded() {
+        mergeLock.lock();
+        try {
+            while (getSegmentCount() > maxSegments) {
+                mergeSmallestSegments();
+            }
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    private void mergeSmallestSegments() {
+        List<SegmentState> sources;
+        List<Set<Long>> deletedSnapshots = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            sources = segments.stream()
+                    .sorted(Comparator.comparingInt(SegmentState::liveCount))
+                    .limit(mergeFactor)
+                    .toList();
+            sources.forEach(source -> deletedSnapshots.add(new HashSet<>(source.deleted)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String name;
+        updateLock.lock();
+        try {
+            name = "seg_" + (++generation) + SEGMENT_SUFFIX;
+        } finally {
+            updateLock.unlock();
+        }
+        IndexSegment merged = mergeSegments(directory.resolve(name), sources, deletedSnapshots);
+
+        updateLock.lock();
+        lock.writeLock().lock();
+        try {
+            if (!segments.containsAll(sources)) {
+                // 합치는 동안 색인이 초기화되었다.
+                deleteSegmentFile(name);
+                return;
+            }
+
+            Set<Long> deletedDuringMerge = new HashSet<>();
+            for (int i = 0; i < sources.size(); i++) {
+                Set<Long> snapshot = deletedSnapshots.get(i);
+                sources.get(i).deleted.stream()
+                        .filter(postId -> !snapshot.contains(postId))
+                        .forEach(deletedDuringMerge::add);
+            }
+
+            SegmentState mergedState = new SegmentState(merged, new HashSet<>());
+            segments.removeAll(sources);
+            segments.add(mergedState);
+            for (int ordinal = 0; ordinal < merged.getDocCount(); ordinal++) {
+                long postId = merged.postId(ordinal);
+                if (deletedDuringMerge.contains(postId)) {
+                    mergedState.deleted.add(postId);
+                } else {
+                    liveDocs.put(postId, new DocRef(mergedState, ordinal));
+                }
+            }
+            writeManifest();
+            sources.forEach(source -> deleteSegmentFile(source.segment.getName()));
+        } finally {
+            lock.writeLock().unlock();
+            updateLock.unlock();
+        }
+
+        log.info("검색 색인 세그먼트 병합 완료. {} -> {}, docs: {}",
+                sources.stream().map(source -> source.segment.getName()).toList(), name, merged.getDocCount());
+    }
+
+    /**
+     * 진행중인 병합이 있으면 끝날 때까지 기다린다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        mergeExecutor.shutdown();
+        try {
+            if (!mergeExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                mergeExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            mergeExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scheduleMergeIfNeeded() {
+        if (getSegmentCount() <= maxSegments || !mergeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        mergeExecutor.execute(() -> {
+            try {
+                mergeIfNeeded();
+            } catch (RuntimeException e) {
+                log.warn("검색 색인 세그먼트 병합 실패", e);
+            } finally {
+                mergeScheduled.set(false);
+            }
+            scheduleMergeIfNeeded();
+        });
+    }
+
+    private int countLivePostings(SegmentState segment, int termOrdinal) {
+        if (termOrdinal < 0) {
+            return 0;
+        }
+
+        IndexSegment reader = segment.segment;
+        int count = reader.postingCount(termOrdinal);
+        if (segment.deleted.isEmpty()) {
+            return count;
+        }
+
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            if (!segment.deleted.contains(reader.postId(reader.postingDoc(termOrdinal, i)))) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * 점수를 더하면서, 본문에 나오는 검색어 중 가장 드문(idf가 큰) 단어의 위치를 미리보기 위치로 기록한다.
+     */
+    private void addScores(SegmentState segment, int termOrdinal, double idf, double avgLength,
+                           Map<Long, Double> scores, Map<Long, Match> matches) {
+        if (termOrdinal < 0) {
+            return;
+        }
+
+        IndexSegment reader = segment.segment;
+        int count = reader.postingCount(termOrdinal);
+        for (int i = 0; i < count; i++) {
+            int docOrdinal = reader.postingDoc(termOrdinal, i);
+            long postId = reader.postId(docOrdinal);
+            if (segment.deleted.contains(postId)) {
+                continue;
+            }
+
+            int tf = reader.postingFrequency(termOrdinal, i);
+            double norm = K1 * (1 - B + B * reader.docLength(docOrdinal) / avgLength);
+            scores.merge(postId, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+
+            int position = reader.postingPosition(termOrdinal, i);
+            Match match = matches.get(postId);
+            if (position >= 0 && (match == null || idf > match.idf)) {
+                matches.put(postId, new Match(idf, position));
+            }
+        }
+    }
+
+    private void addLiveDoc(SegmentState segment, int ordinal) {
+        long postId = segment.segment.postId(ordinal);
+        removeLiveDoc(postId);
+        liveDocs.put(postId, new DocRef(segment, ordinal));
+        totalLength += segment.segment.docLength(ordinal);
+    }
+
+    private boolean removeLiveDoc(long postId) {
+        DocRef previous = liveDocs.remove(postId);
+        if (previous == null) {
+            return false;
+        }
+        previous.segment.deleted.add(postId);
+        totalLength -= previous.segment.segment.docLength(previous.ordinal);
+        return true;
+    }
+
+    private IndexSegment writeSegment(Path path, List<PostIndexDto> posts) {
+        // 같은 글이 여러번 들어오면 마지막 것만 색인한다.
+        TreeMap<Long, Map<String, int[]>> docs = new TreeMap<>();
+        posts.forEach(post -> docs.put(post.getId(), termStats(post)));
+
+        long[] postIds = new long[docs.size()];
+        int[] docLengths = new int[docs.size()];
+        TreeMap<byte[], List<int[]>> postings = new TreeMap<>(TERM_ORDER);
+
+        int ordinal = 0;
+        for (Map.Entry<Long, Map<String, int[]>> doc : docs.entrySet()) {
+            postIds[ordinal] = doc.getKey();
+            int docOrdinal = ordinal;
+            doc.getValue().forEach((term, stat) -> {
+                postings.computeIfAbsent(term.getBytes(StandardCharsets.UTF_8), t -> new ArrayList<>())
+                        .add(new int[]{docOrdinal, stat[0], stat[1]});
+                docLengths[docOrdinal] += stat[0];
+            });
+            ordinal++;
+        }
+
+        try (IndexSegmentWriter writer = new IndexSegmentWriter(path, postIds, docLengths)) {
+            for (Map.Entry<byte[], List<int[]>> term : postings.entrySet()) {
+                List<int[]> termPostings = term.getValue();
+                int[] docOrdinals = new int[termPostings.size()];
+                int[] frequencies = new int[termPostings.size()];
+                int[] positions = new int[termPostings.size()];
+                for (int i = 0; i < termPostings.size(); i++) {
+                    docOrdinals[i] = termPostings.get(i)[0];
+                    frequencies[i] = termPostings.get(i)[1];
+                    positions[i] = termPostings.get(i)[2];
+                }
+                writer.addTerm(term.getKey(), docOrdinals, frequencies, positions, termPostings.size());
+            }
+            writer.finish();
+            return IndexSegment.open(path);
+        } catch (IOException e) {
+            deleteSegmentFile(path.getFileName().toString());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 단어별 [빈도, 본문 위치]
+     * 빈도는 Markdown을 걷어낸 본문으로 세고, 위치는 DB에서 바로 잘라 읽을 수 있도록 원본 본문 기준으로 찾는다.
+     * (강조 문법을 걷어내면서 새로 붙은 단어처럼 원본에 없는 단어는 -1)
+     */
+    private Map<String, int[]> termStats(PostIndexDto post) {
+        Map<String, int[]> stats = new HashMap<>();
+        SearchTokenizer.terms(post.getTitle()).stream()
+                .filter(term -> term.length() <= MAX_TERM_LENGTH)
+                .forEach(term -> stats.computeIfAbsent(term, t -> new int[]{0, -1})[0] += TITLE_WEIGHT);
+        SearchTokenizer.terms(post.getPlainContent()).stream()
+                .filter(term -> term.length() <= MAX_TERM_LENGTH)
+                .forEach(term -> stats.computeIfAbsent(term, t -> new int[]{0, -1})[0]++);
+
+        String content = post.getContent();
+        int codePointOffset = 0;
+        int charOffset = 0;
+        for (SearchTokenizer.Token token : SearchTokenizer.tokenize(content)) {
+            int[] stat = stats.get(token.getTerm());
+            if (stat != null && stat[1] < 0) {
+                codePointOffset += content.codePointCount(charOffset, token.getStartOffset());
+                charOffset = token.getStartOffset();
+                stat[1] = codePointOffset;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 세그먼트들의 단어 사전이 모두 정렬되어 있으므로 k-way merge로 단어 하나씩 합쳐 쓴다.
+     */
+    private IndexSegment mergeSegments(Path path, List<SegmentState> sources, List<Set<Long>> deletedSnapshots) {
+        List<long[]> docs = new ArrayList<>();
+        int[][] ordinalMaps = new int[sources.size()][];
+        for (int s = 0; s < sources.size(); s++) {
+            IndexSegment source = sources.get(s).segment;
+            ordinalMaps[s] = new int[source.getDocCount()];
+            Arrays.fill(ordinalMaps[s], -1);
+            for (int ordinal = 0; ordinal < source.getDocCount(); ordinal++) {
+                if (!deletedSnapshots.get(s).contains(source.postId(ordinal))) {
+                    docs.add(new long[]{source.postId(ordinal), s, ordinal});
+                }
+            }
+        }
+        docs.sort(Comparator.comparingLong(doc -> doc[0]));
+
+        long[] postIds = new long[docs.size()];
+        int[] docLengths = new int[docs.size()];
+        for (int i = 0; i < docs.size(); i++) {
+            long[] doc = docs.get(i);
+            postIds[i] = doc[0];
+            docLengths[i] = sources.get((int) doc[1]).segment.docLength((int) doc[2]);
+            ordinalMaps[(int) doc[1]][(int) doc[2]] = i;
+        }
+
+        PriorityQueue<TermCursor> cursors = new PriorityQueue<>((a, b) -> TERM_ORDER.compare(a.term, b.term));
+        for (int s = 0; s < sources.size(); s++) {
+            if (sources.get(s).segment.getTermCount() > 0) {
+                cursors.add(new TermCursor(s, 0, sources.get(s).segment.termBytes(0)));
+            }
+        }
+
+        try (IndexSegmentWriter writer = new IndexSegmentWriter(path, postIds, docLengths)) {
+            int[] docOrdinals = new int[16];
+            int[] frequencies = new int[16];
+            int[] positions = new int[16];
+            while (!cursors.isEmpty()) {
+                byte[] term = cursors.peek().term;
+                int count = 0;
+                while (!cursors.isEmpty() && Arrays.equals(cursors.peek().term, term)) {
+                    TermCursor cursor = cursors.poll();
+                    IndexSegment source = sources.get(cursor.source).segment;
+                    int postingCount = source.postingCount(cursor.termOrdinal);
+                    if (count + postingCount > docOrdinals.length) {
+                        docOrdinals = Arrays.copyOf(docOrdinals, Math.max(docOrdinals.length * 2, count + postingCount));
+                        frequencies = Arrays.copyOf(frequencies, docOrdinals.length);
+                        positions = Arrays.copyOf(positions, docOrdinals.length);
+                    }
+                    for (int i = 0; i < postingCount; i++) {
+                        int newOrdinal = ordinalMaps[cursor.source][source.postingDoc(cursor.termOrdinal, i)];
+                        if (newOrdinal >= 0) {
+                            docOrdinals[count] = newOrdinal;
+                            frequencies[count] = source.postingFrequency(cursor.termOrdinal, i);
+                            positions[count] = source.postingPosition(cursor.termOrdinal, i);
+                            count++;
+                        }
+                    }
+
+                    int next = cursor.termOrdinal + 1;
+                    if (next < source.getTermCount()) {
+                        cursors.add(new TermCursor(cursor.source, next, source.termBytes(next)));
+                    }
+                }
+                if (count > 0) {
+                    writer.addTerm(term, docOrdinals, frequencies, positions, count);
+                }
+            }
+            writer.finish();
+            return IndexSegment.open(path);
+        } catch (IOException e) {
+            deleteSegmentFile(path.getFileName().toString());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * manifest에 기록된 세그먼트만 열고, 기록되지 않은 파일(쓰다 중단된 세그먼트 등)은 지운다.
+     * 파일이 손상되었으면 비어있는 색인으로 시작한다. (checkpoint가 없으므로 전체 색인을 다시 만든다.)
+     */
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            Path manifestPath = directory.resolve(MANIFEST);
+            Set<String> validNames = new HashSet<>();
+
+            if (Files.exists(manifestPath)) {
+                try {
+                    IndexManifest manifest = objectMapper.readValue(manifestPath.toFile(), IndexManifest.class);
+                    for (SegmentEntry entry : manifest.getSegments()) {
+                        SegmentState segment = new SegmentState(
+                                IndexSegment.open(directory.resolve(entry.getName())), new HashSet<>(entry.getDeleted()));
+                        segments.add(segment);
+                        validNames.add(entry.getName());
+                        for (int ordinal = 0; ordinal < segment.segment.getDocCount(); ordinal++) {
+                            if (!segment.deleted.contains(segment.segment.postId(ordinal))) {
+                                addLiveDoc(segment, ordinal);
+                            }
+                        }
+                    }
+                    generation = manifest.getGeneration();
+                    checkpoint = manifest.getCheckpoint() != null ? LocalDateTime.parse(manifest.getCheckpoint()) : null;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("검색 색인을 열 수 없어 비어있는 색인으로 시작합니다. directory: {}", directory, e);
+                    segments.clear();
+                    liveDocs.clear();
+                    totalLength = 0;
+                    checkpoint = null;
+                    validNames.clear();
+                }
+            }
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    if (!fileName.equals(MANIFEST) && !validNames.contains(fileName)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeManifest() {
+        IndexManifest manifest = new IndexManifest(
+                generation,
+                checkpoint != null ? checkpoint.toString() : null,
+                segments.stream()
+                        .map(segment -> new SegmentEntry(segment.segment.getName(), new TreeSet<>(segment.deleted)))
+                        .toList());
+
+        // 임시 파일에 쓴 뒤 원자적으로 교체해 manifest가 반쯤 쓰인 상태로 남지 않게 한다.
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), manifest);
+            Files.move(temp, directory.resolve(MANIFEST), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteSegmentFile(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            log.warn("검색 색인 세그먼트 파일 삭제 실패. name: {}", name, e);
+        }
+    }
+
+    private static class SegmentState {
+        private final IndexSegment segment;
+        private final Set<Long> deleted;
+
+        private SegmentState(IndexSegment segment, Set<Long> deleted) {
+            this.segment = segment;
+            this.deleted = deleted;
+        }
+
+        private int liveCount() {
+            return segment.getDocCount() - deleted.size();
+        }
+    }
+
+    private record DocRef(SegmentState segment, int ordinal) {
+    }
+
+    private record Match(double idf, int position) {
+    }
+
+    private record TermCursor(int source, int termOrdinal, byte[] term) {
+    }
+
+    @Getter
+    public static class PostSearchHits {
+        private final int total;
+        private final List<Long> postIds;
+        // 본문에서 검색어가 나오는 위치(code point 기준), 제목에만 있는 글은 없다.
+        private final Map<Long, Integer> positions;
+        private final Set<String> terms;
+
+        @Builder
+        private PostSearchHits(int total, List<Long> postIds, Map<Long, Integer> positions, Set<String> terms) {
+            this.total = total;
+            this.postIds = postIds;
+            this.positions = positions;
+            this.terms = terms;
+        }
+    }
+}
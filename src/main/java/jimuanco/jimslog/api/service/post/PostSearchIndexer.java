@@ -0,0 +1,169 @@
+package jimuanco.jimslog.api.service.post;
+
+import jimuanco.jimslog.domain.post.PostBulkRepository;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostIndexDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 색인 갱신
+ * 글이 바뀌면 커밋 후 PostChangePipeline이 모아서 넘겨준 글들을 DB에서 다시 읽어 색인하고, 다른 WAS에도 알린다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndexer {
+
+    private static final String REINDEX_CHANNEL = "post-search:reindex";
+    // 커밋 전에 수정 시각이 찍히므로 checkpoint 직전에 수정된 글도 다시 확인한다.
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    // 자신이 보낸 메시지는 이미 색인했으므로 무시한다.
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostBulkRepository postBulkRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final int chunkSize;
+    private final int segmentSize;
+
+    public PostSearchIndexer(PostSearchIndex postSearchIndex,
+                             PostBulkRepository postBulkRepository,
+                             StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             @Value("${jimslog.search.chunk-size}") int chunkSize,
+                             @Value("${jimslog.search.segment-size}") int segmentSize) {
+        this.postSearchIndex = postSearchIndex;
+        this.postBulkRepository = postBulkRepository;
+        this.redisTemplate = redisTemplate;
+        this.chunkSize = chunkSize;
+        this.segmentSize = segmentSize;
+
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String[] body = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+            if (!instanceId.equals(body[0])) {
+                reindexNow(Arrays.stream(body[1].split(","))
+                        .map(Long::valueOf)
+                        .toList());
+            }
+        }, new ChannelTopic(REINDEX_CHANNEL));
+    }
+
+    /**
+     * WAS 시작시 호출, 디스크에 색인이 있으면 마지막 checkpoint 이후 바뀐 글만 반영하고 없으면 새로 만든다.
+     */
+    public void open() {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime checkpoint = postSearchIndex.getCheckpoint();
+
+        if (checkpoint == null) {
+            int total = rebuild();
+            log.info("검색 색인 생성 완료. total: {}, {}ms", total, System.currentTimeMillis() - startTime);
+            return;
+        }
+
+        int updated = catchUp(checkpoint.minus(CATCH_UP_MARGIN));
+        log.info("검색 색인 열기 완료. docs: {}, segments: {}, 반영된 변경: {}, {}ms", postSearchIndex.getDocCount(),
+                postSearchIndex.getSegmentCount(), updated, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 전체 글을 id 순서로 chunkSize씩 읽어 색인을 새로 만든다, segmentSize개마다 세그먼트 하나로 쓴다.
+     */
+    public int rebuild() {
+        // 읽는 도중 수정된 글은 다음 시작시 다시 반영되도록 읽기 시작 시각을 checkpoint로 남긴다.
+        LocalDateTime startDateTime = LocalDateTime.now();
+        postSearchIndex.clear();
+
+        long lastId = 0;
+        int total = 0;
+        List<PostIndexDto> buffer = new ArrayList<>();
+        List<PostIndexDto> chunk = postBulkRepository.findIndexTargets(lastId, chunkSize);
+        while (!chunk.isEmpty()) {
+            buffer.addAll(chunk);
+            if (buffer.size() >= segmentSize) {
+                postSearchIndex.indexAll(buffer);
+                buffer = new ArrayList<>();
+            }
+            total += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+
+            chunk = postBulkRepository.findIndexTargets(lastId, chunkSize);
+        }
+        postSearchIndex.indexAll(buffer);
+        postSearchIndex.updateCheckpoint(startDateTime);
+        return total;
+    }
+
+    /**
+     * since 이후 수정된 글을 다시 색인하고, DB와 색인의 글 ID를 비교해 빠진 글은 추가, 삭제된 글은 지운다.
+     */
+    public int catchUp(LocalDateTime since) {
+        int updated = 0;
+        long lastId = 0;
+        List<PostIndexDto> chunk = postBulkRepository.findIndexTargetsModifiedSince(since, lastId, chunkSize);
+        while (!chunk.isEmpty()) {
+            postSearchIndex.indexAll(chunk);
+            updated += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+
+            chunk = postBulkRepository.findIndexTargetsModifiedSince(since, lastId, chunkSize);
+        }
+
+        Set<Long> postIds = new HashSet<>(postBulkRepository.findAllIds());
+        Set<Long> liveIds = postSearchIndex.getLiveIds();
+        for (Long liveId : liveIds) {
+            if (!postIds.contains(liveId)) {
+                postSearchIndex.remove(liveId);
+                updated++;
+            }
+        }
+        List<Long> missingIds = postIds.stream()
+                .filter(postId -> !liveIds.contains(postId))
+                .toList();
+        for (int i = 0; i < missingIds.size(); i += chunkSize) {
+            reindexNow(missingIds.subList(i, Math.min(i + chunkSize, missingIds.size())));
+        }
+        return updated + missingIds.size();
+    }
+
+    /**
+     * 커밋된 글들을 DB에서 다시 읽어 하나의 세그먼트로 색인하고, 다른 WAS에도 알린다.
+     */
+    public void reindex(List<Long> postIds) {
+        reindexNow(postIds);
+        try {
+            redisTemplate.convertAndSend(REINDEX_CHANNEL, instanceId + ":" +
+                    postIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            log.warn("검색 색인 갱신 알림 실패. postIds: {}", postIds, e);
+        }
+    }
+
+    private void reindexNow(List<Long> postIds) {
+        List<PostIndexDto> posts = postBulkRepository.findIndexTargetsByIds(postIds);
+        postSearchIndex.indexAll(posts);
+
+        // DB에 없는 글은 삭제된 글이다.
+        Set<Long> foundIds = posts.stream()
+                .map(PostIndexDto::getId)
+                .collect(Collectors.toSet());
+        postIds.stream()
+                .filter(postId -> !foundIds.contains(postId))
+                .forEach(postSearchIndex::remove);
+    }
+}
@@ -1,47 +1,111 @@
 package jimuanco.jimslog.api.service.post;
 
-import com.amazonaws.services.s3.AmazonS3;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jimuanco.jimslog.api.service.menu.MenuCache;
+import jimuanco.jimslog.api.service.post.event.PostChangedEvent;
 import jimuanco.jimslog.api.service.post.request.PostCreateServiceRequest;
 import jimuanco.jimslog.api.service.post.request.PostEditServiceRequest;
+import jimuanco.jimslog.api.service.post.request.PostImportServiceRequest;
+import jimuanco.jimslog.api.service.post.PostSearchIndex.PostSearchHits;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.request.PostTextSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostBatchResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse.Failure;
+import jimuanco.jimslog.api.service.post.response.PostNavigationResponse;
 import jimuanco.jimslog.api.service.post.response.PostResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
+import jimuanco.jimslog.api.service.post.view.PopularPostRanking;
+import jimuanco.jimslog.api.service.tag.TagService;
 import jimuanco.jimslog.domain.menu.Menu;
+import jimuanco.jimslog.domain.menu.MenuBulkRepository;
 import jimuanco.jimslog.domain.menu.MenuRepository;
 import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.post.PostBulkRepository;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostImportDto;
 import jimuanco.jimslog.domain.post.PostImage;
 import jimuanco.jimslog.domain.post.PostImageRepository;
 import jimuanco.jimslog.domain.post.PostRepository;
 import jimuanco.jimslog.exception.MenuNotFound;
+import jimuanco.jimslog.exception.PostImageNotFound;
 import jimuanco.jimslog.exception.PostNotFound;
+import jimuanco.jimslog.exception.TooManyPostIds;
+import jimuanco.jimslog.utils.MarkdownUtils;
+import jimuanco.jimslog.utils.SearchTokenizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static jimuanco.jimslog.api.service.post.event.PostChangedEvent.Type.*;
+
 @Slf4j
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Service
 public class PostService {
 
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_LEADING = 40;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_POPULAR_SIZE = 50;
+    // 삭제된 글이 순위에 남아 있어도 size를 채울 수 있도록 조금 더 가져온다.
+    private static final int POPULAR_SPARE = 5;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final int MAX_IMPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_IMPORT_FAILURES = 100;
 
     @Value("${jimslog.s3.url}")
     private String s3Url;
 
+    @Value("${jimslog.post-import.chunk-size}")
+    private int importChunkSize;
+
     private final PostRepository postRepository;
+    private final PostBulkRepository postBulkRepository;
     private final MenuRepository menuRepository;
     private final PostImageRepository postImageRepository;
-    private final AmazonS3 amazonS3;
+    private final S3Uploader s3Uploader;
+    private final PostCache postCache;
+    private final MenuCache menuCache;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TagService tagService;
+    private final PopularPostRanking popularPostRanking;
+    private final ObjectMapper objectMapper;
+    private final PostImporter postImporter;
+    private final MenuBulkRepository menuBulkRepository;
+    private final Validator validator;
 
     @Transactional
     public void createPost(PostCreateServiceRequest serviceRequest) {
@@ -51,17 +115,58 @@ public class PostService {
         Post post = serviceRequest.toEntity(menu);
         postRepository.save(post);
 
+        if (serviceRequest.getTags() != null) {
+            tagService.replaceTags(post, serviceRequest.getTags());
+        }
+
+        if (menu != null) {
+            menuRepository.increasePostCount(menu.getId());
+            menuCache.evict();
+        }
+
+        // 이미지를 붙이는 bulk UPDATE가 영속성 컨텍스트를 비우므로 마지막에 한다.
         processImagesForPost(serviceRequest.getUploadImageUrls(), post.getId(), serviceRequest.getDeleteImageUrls());
+
+        eventPublisher.publishEvent(PostChangedEvent.of(post.getId(), CREATED));
     }
 
     public PostResponse getPost(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFound::new);
+        return postCache.get(postId, () -> {
+            Post post = postRepository.findById(postId)
+                    .orElseThrow(PostNotFound::new);
 
-        return PostResponse.of(post);
+            return PostResponse.of(post, tagService.getTagNames(postId));
+        });
     }
 
-    public List<PostResponse> getPostList(PostSearchServiceRequest serviceRequest) {
+    /**
+     * 전체 글과 같은 메뉴(상위 메뉴 + 하위 메뉴) 안에서의 이전/다음 글, 글 단건과 함께 캐시한다.
+     */
+    public PostNavigationResponse getPostNavigation(Long postId) {
+        return postCache.getNavigation(postId, () -> {
+            List<Long> menuIdList = postRepository.findMenuIdById(postId)
+                    .flatMap(menuRepository::findById)
+                    .map(this::getMenuTreeIds)
+                    .orElse(null);
+
+            return PostNavigationResponse.builder()
+                    .previous(postRepository.findPreviousPost(postId, null))
+                    .next(postRepository.findNextPost(postId, null))
+                    .menuPrevious(menuIdList != null ? postRepository.findPreviousPost(postId, menuIdList) : null)
+                    .menuNext(menuIdList != null ? postRepository.findNextPost(postId, menuIdList) : null)
+                    .build();
+        });
+    }
+
+    private List<Long> getMenuTreeIds(Menu menu) {
+        Menu root = (menu.getParent() != null) ? menu.getParent() : menu;
+        List<Long> menuIdList = new ArrayList<>();
+        menuIdList.add(root.getId());
+        root.getChildren().forEach(child -> menuIdList.add(child.getId()));
+        return menuIdList;
+    }
+
+    public List<PostSummaryResponse> getPostList(PostSearchServiceRequest serviceRequest) {
         List<Long> menuIdList = new ArrayList<>();
 
         if(serviceRequest.getMenuId() != 0) {
@@ -72,9 +177,262 @@ public class PostService {
 
         menuIdList.add((long) serviceRequest.getMenuId());
 
-        return postRepository.getPostList(serviceRequest, menuIdList).stream()
-                .map(PostResponse::of)
-                .collect(Collectors.toList());
+        Long tagId = (serviceRequest.getTag() != null) ? tagService.getTagId(serviceRequest.getTag()) : null;
+
+        return postRepository.getPostList(serviceRequest, menuIdList, tagId);
+    }
+
+    /**
+     * 업로드한 이미지 URL로 지금까지 만들어진 줄인 이미지와 srcset을 조회한다.
+     */
+    public PostImageResponse getPostImage(String imageUrl) {
+        String fileName = extractFileNameFromImageUrl(imageUrl);
+        if (fileName.isEmpty()) {
+            throw new PostImageNotFound();
+        }
+        return s3Uploader.getImage(fileName)
+                .orElseThrow(PostImageNotFound::new);
+    }
+
+    /**
+     * 요청한 순서대로 글 요약을 돌려주고, 없는 글은 missingIds로 알려준다.
+     * 캐시에 없는 글만 IN 쿼리 한번으로 읽는다.
+     */
+    public PostBatchResponse getPostBatch(List<Long> postIds) {
+        List<Long> distinctIds = postIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new TooManyPostIds();
+        }
+
+        Map<Long, PostSummaryResponse> summaries = postCache.getSummaries(distinctIds,
+                ids -> postRepository.getPostSummaries(ids).stream()
+                        .collect(Collectors.toMap(PostSummaryResponse::getId, Function.identity())));
+
+        return PostBatchResponse.builder()
+                .posts(distinctIds.stream()
+                        .map(summaries::get)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .missingIds(distinctIds.stream()
+                        .filter(postId -> !summaries.containsKey(postId))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * 최근 조회수 기준 인기 글, 본문은 읽지 않고 요약만 돌려준다.
+     */
+    public List<PostSummaryResponse> getPopularPosts(int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_POPULAR_SIZE);
+
+        return postCache.getPopular(limit, () -> {
+            List<Long> postIds = popularPostRanking.getTopPostIds(limit + POPULAR_SPARE);
+            if (postIds.isEmpty()) {
+                return List.of();
+            }
+
+            Map<Long, PostSummaryResponse> summaries = postCache.getSummaries(postIds,
+                    ids -> postRepository.getPostSummaries(ids).stream()
+                            .collect(Collectors.toMap(PostSummaryResponse::getId, Function.identity())));
+
+            // 삭제된 글은 순위에서 뺀다.
+            popularPostRanking.remove(postIds.stream()
+                    .filter(postId -> !summaries.containsKey(postId))
+                    .toList());
+
+            return postIds.stream()
+                    .map(summaries::get)
+                    .filter(Objects::nonNull)
+                    .limit(limit)
+                    .toList();
+        });
+    }
+
+    /**
+     * 모든 글을 NDJSON(한 줄에 글 하나)으로 읽는 대로 바로 쓴다.
+     */
+    public void exportPosts(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        try {
+            postBulkRepository.streamExportTargets(EXPORT_FETCH_SIZE, post -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(post));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * NDJSON(한 줄에 글 하나)을 읽는 대로 chunkSize개씩 모아 chunk마다 커밋한다.
+     * 형식이 잘못된 줄이나 저장에 실패한 chunk는 건너뛰고 결과에 줄 번호를 남긴다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostImportResponse importPosts(InputStream inputStream, Integer chunkSize) throws IOException {
+        int limit = Math.min(Math.max(chunkSize != null ? chunkSize : importChunkSize, 1), MAX_IMPORT_CHUNK_SIZE);
+        Map<String, Long> menuIds = menuBulkRepository.findMenuIdsByName();
+        ImportProgress progress = new ImportProgress();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<Integer> lineNumbers = new ArrayList<>(limit);
+        List<PostImportDto> posts = new ArrayList<>(limit);
+        List<List<String>> tagNames = new ArrayList<>(limit);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.total++;
+
+            PostImportServiceRequest request;
+            try {
+                request = objectMapper.readValue(line, PostImportServiceRequest.class);
+            } catch (JsonProcessingException e) {
+                progress.fail(lineNumber, "JSON 형식이 올바르지 않습니다.");
+                continue;
+            }
+
+            String error = validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .findFirst()
+                    .orElse(null);
+            Long menuId = (request.getMenu() != null) ? menuIds.get(request.getMenu()) : null;
+            if (error == null && request.getMenu() != null && menuId == null) {
+                error = new MenuNotFound().getMessage();
+            }
+            if (error != null) {
+                progress.fail(lineNumber, error);
+                continue;
+            }
+
+            lineNumbers.add(lineNumber);
+            posts.add(PostImportDto.builder()
+                    .title(request.getTitle())
+                    .content(request.getContent())
+                    .menuId(menuId)
+                    .createdDateTime(request.getCreatedDateTime() != null
+                            ? request.getCreatedDateTime() : LocalDateTime.now())
+                    .build());
+            tagNames.add(request.getTags() != null ? request.getTags() : List.of());
+
+            if (posts.size() == limit) {
+                importChunk(lineNumbers, posts, tagNames, progress);
+            }
+        }
+        importChunk(lineNumbers, posts, tagNames, progress);
+
+        if (progress.menuChanged) {
+            menuCache.evict();
+        }
+        log.info("글 가져오기 완료. 전체 {}개, 저장 {}개, 실패 {}개", progress.total, progress.imported, progress.failed);
+
+        return PostImportResponse.builder()
+                .total(progress.total)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .failures(progress.failures)
+                .build();
+    }
+
+    private void importChunk(List<Integer> lineNumbers, List<PostImportDto> posts, List<List<String>> tagNames,
+                             ImportProgress progress) {
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        try {
+            progress.imported += postImporter.importChunk(posts, tagNames).size();
+            progress.menuChanged |= posts.stream().anyMatch(post -> post.getMenuId() != null);
+        } catch (RuntimeException e) {
+            log.warn("글 가져오기 chunk 저장 실패. {}~{}번째 줄", lineNumbers.get(0), lineNumbers.get(lineNumbers.size() - 1), e);
+            lineNumbers.forEach(lineNumber -> progress.fail(lineNumber, "저장에 실패했습니다."));
+        }
+        log.info("글 가져오기 진행 중. {}번째 줄까지 읽음, 저장 {}개, 실패 {}개",
+                lineNumbers.get(lineNumbers.size() - 1), progress.imported, progress.failed);
+
+        lineNumbers.clear();
+        posts.clear();
+        tagNames.clear();
+    }
+
+    private static class ImportProgress {
+        private int total;
+        private int imported;
+        private int failed;
+        private boolean menuChanged;
+        private final List<Failure> failures = new ArrayList<>();
+
+        private void fail(int lineNumber, String message) {
+            failed++;
+            // 결과가 너무 커지지 않도록 앞쪽 일부 줄만 남긴다.
+            if (failures.size() < MAX_IMPORT_FAILURES) {
+                failures.add(new Failure(lineNumber, message));
+            }
+        }
+    }
+
+    /**
+     * 검색 색인에서 순위대로 글 ID를 찾고, 해당 글들의 요약만 한번에 조회해 순위 순서로 정렬한다.
+     */
+    public PostSearchResponse searchPosts(PostTextSearchServiceRequest serviceRequest) {
+        PostSearchHits hits = postSearchIndex.search(
+                serviceRequest.getQuery(), serviceRequest.getOffset(), serviceRequest.getLimit());
+
+        if (hits.getPostIds().isEmpty()) {
+            return PostSearchResponse.builder()
+                    .total(hits.getTotal())
+                    .posts(List.of())
+                    .build();
+        }
+
+        Map<Long, PostSummaryResponse> summaries = postRepository.getPostSummaries(hits.getPostIds()).stream()
+                .collect(Collectors.toMap(PostSummaryResponse::getId, Function.identity()));
+        Map<Long, String> snippets = getSnippets(hits.getPositions());
+
+        return PostSearchResponse.builder()
+                .total(hits.getTotal())
+                .posts(hits.getPostIds().stream()
+                        .map(summaries::get)
+                        .filter(Objects::nonNull)
+                        .map(summary -> {
+                            // 본문에 검색어가 없으면(제목에만 있으면) 요약문을 미리보기로 쓴다.
+                            String snippet = snippets.getOrDefault(summary.getId(), summary.getExcerpt());
+                            return PostSearchResultResponse.of(
+                                    summary, snippet, SearchTokenizer.highlight(snippet, hits.getTerms()));
+                        })
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * 색인에 저장된 검색어 위치 앞뒤로 본문을 DB에서 잘라 읽어 미리보기를 만든다.
+     * 잘린 Markdown 문법이 섞일 수 있어 넉넉히 읽은 뒤 순수 텍스트로 바꿔 SNIPPET_LENGTH로 자른다.
+     */
+    private Map<Long, String> getSnippets(Map<Long, Integer> positions) {
+        Map<Long, Integer> starts = new HashMap<>();
+        positions.forEach((postId, position) -> starts.put(postId, Math.max(1, position + 1 - SNIPPET_LEADING)));
+
+        Map<Long, String> snippets = new HashMap<>();
+        postBulkRepository.findContentWindows(starts, SNIPPET_LENGTH * 2).forEach((postId, window) -> {
+            String plainText = MarkdownUtils.toPlainText(window);
+            // 중간부터 잘랐으면 잘린 첫 어절은 버린다.
+            int space = plainText.indexOf(' ');
+            if (starts.get(postId) > 1 && space >= 0 && space < SNIPPET_LEADING) {
+                plainText = plainText.substring(space + 1);
+            }
+            snippets.put(postId, MarkdownUtils.excerpt(plainText, SNIPPET_LENGTH));
+        });
+        return snippets;
     }
 
     @Transactional
@@ -85,8 +443,24 @@ public class PostService {
         Menu menu = menuRepository.findById((long) serviceRequest.getMenuId())
                 .orElseThrow(MenuNotFound::new);
 
+        Menu oldMenu = post.getMenu();
+        boolean menuChanged = oldMenu == null || !oldMenu.getId().equals(menu.getId());
         post.edit(serviceRequest.getTitle(), serviceRequest.getContent(), menu); // todo editor class 만들지 고민
+        if (serviceRequest.getTags() != null && tagService.replaceTags(post, serviceRequest.getTags())) {
+            postRepository.updateModifiedDateTime(postId, LocalDateTime.now());
+        }
+        postCache.evict(postId);
+        eventPublisher.publishEvent(PostChangedEvent.of(postId, EDITED));
+
+        if (menuChanged) {
+            if (oldMenu != null) {
+                menuRepository.decreasePostCount(oldMenu.getId());
+            }
+            menuRepository.increasePostCount(menu.getId());
+            menuCache.evict();
+        }
 
+        // 이미지를 붙이는 bulk UPDATE가 영속성 컨텍스트를 비우므로 마지막에 한다.
         processImagesForPost(serviceRequest.getUploadImageUrls(), post.getId(), serviceRequest.getDeleteImageUrls());
     }
 
@@ -94,15 +468,19 @@ public class PostService {
     public void deletePost(Long postId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(PostNotFound::new);
+        tagService.removeTags(postId);
         postRepository.delete(post);
+        postCache.evict(postId);
+        eventPublisher.publishEvent(PostChangedEvent.of(postId, DELETED));
 
         List<PostImage> deletePostImages = postImageRepository.findAllByPostId(post.getId());
-
-        deletePostImages.stream()
-                .map(deletePostImage -> deletePostImage.getFileName())
-                .forEach(fileName -> amazonS3.deleteObject(bucket, fileName));
-
         postImageRepository.deleteAllInBatch(deletePostImages);
+        s3Uploader.deleteUnreferenced(deletePostImages);
+
+        if (post.getMenu() != null) {
+            menuRepository.decreasePostCount(post.getMenu().getId());
+            menuCache.evict();
+        }
     }
 
     private void processImagesForPost(List<String> uploadImageUrls, Long postId, List<String> deleteImageUrls) {
@@ -111,16 +489,40 @@ public class PostService {
         }
 
         if (deleteImageUrls.size() != 0) {
-            deleteS3Images(deleteImageUrls);
-            deleteDbImages(deleteImageUrls);
+            deleteImages(deleteImageUrls, postId);
         }
     }
 
+    /**
+     * 업로드만 하고 아직 글에 붙지 않은 이미지를 UPDATE 한번으로 글에 붙인다.
+     * 다른 글이 쓰던 이미지면 이 글에서 참조하는 행을 새로 만들고, 어디에도 없는 이미지는 로그로 남긴다.
+     */
     private void processImageUploadsForPost(List<String> uploadImageUrls, Long postId) {
-        uploadImageUrls.stream()
+        Set<String> fileNames = uploadImageUrls.stream()
                 .map(uploadImageUrl -> extractFileNameFromImageUrl(uploadImageUrl))
                 .filter(fileName -> (fileName != ""))
-                .forEach(fileName -> updatePostIdForPostImage(fileName, postId));
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (fileNames.isEmpty()) {
+            return;
+        }
+
+        postImageRepository.attachAllToPost(fileNames, postId);
+        postImageRepository.findAttachedFileNames(fileNames, postId).forEach(fileNames::remove);
+        if (fileNames.isEmpty()) {
+            return;
+        }
+
+        Map<String, PostImage> referencedImages = new HashMap<>();
+        postImageRepository.findAllByFileNameIn(fileNames)
+                .forEach(postImage -> referencedImages.putIfAbsent(postImage.getFileName(), postImage));
+        postImageRepository.saveAll(referencedImages.values().stream()
+                .map(postImage -> postImage.referenceFrom(postId))
+                .toList());
+
+        fileNames.removeAll(referencedImages.keySet());
+        if (!fileNames.isEmpty()) {
+            log.info("이미지 파일이 존재하지 않습니다. postId = {}, fileNames = {}", postId, fileNames);
+        }
     }
 
     private String extractFileNameFromImageUrl(String imageUrl) {
@@ -139,31 +541,19 @@ public class PostService {
         return decodingString;
     }
 
-    private void updatePostIdForPostImage(String fileName, Long postId) {
-        try {
-            PostImage postImage = postImageRepository.findByFileName(fileName)
-                    .orElseThrow(() -> new RuntimeException("이미지 파일이 존재하지 않습니다."));
-            postImage.updatePostId(postId);
-        } catch(RuntimeException e) {
-            log.info(e.getMessage());
-        }
-    }
-
-    private void deleteDbImages(List<String> deleteDbImageUrls) {
-        List<String> deleteFileNames = deleteDbImageUrls.stream()
+    /**
+     * 이 글과 아직 글에 붙지 않은 행만 지우고, S3 객체는 다른 글이 참조하지 않을 때만 지운다.
+     */
+    private void deleteImages(List<String> deleteImageUrls, Long postId) {
+        List<String> deleteFileNames = deleteImageUrls.stream()
                 .map(deleteImageUrl -> extractFileNameFromImageUrl(deleteImageUrl))
                 .filter(fileName -> (fileName != ""))
                 .collect(Collectors.toList());
 
         if (deleteFileNames.size() != 0) {
-            postImageRepository.deleteAllByFileNameInQuery(deleteFileNames);
+            List<PostImage> deletePostImages = postImageRepository.findAllByFileNameInForPost(deleteFileNames, postId);
+            postImageRepository.deleteAllInBatch(deletePostImages);
+            s3Uploader.deleteUnreferenced(deletePostImages);
         }
     }
-
-    private void deleteS3Images(List<String> deleteImageUrls) {
-        deleteImageUrls.stream()
-                .map(deleteImageUrl -> extractFileNameFromImageUrl(deleteImageUrl))
-                .filter(fileName -> (fileName != ""))
-                .forEach(fileName -> amazonS3.deleteObject(bucket, fileName));
-    }
 }
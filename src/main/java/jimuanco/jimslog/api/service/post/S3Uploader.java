@@ -1,21 +1,41 @@
 package jimuanco.jimslog.api.service.post;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import jimuanco.jimslog.api.service.post.image.ImageVariant;
+import jimuanco.jimslog.api.service.post.image.ImageVariantGenerator;
+import jimuanco.jimslog.api.service.post.image.ImageVariantGenerator.ImageInfo;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse.Variant;
+import jimuanco.jimslog.domain.post.ImageDeleteOutbox;
+import jimuanco.jimslog.domain.post.ImageDeleteOutboxRepository;
 import jimuanco.jimslog.domain.post.PostImage;
 import jimuanco.jimslog.domain.post.PostImageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -23,59 +43,148 @@ import java.util.UUID;
 public class S3Uploader {
 
     private final AmazonS3 amazonS3;
+    private final TransferManager transferManager;
+    private final ImageVariantGenerator imageVariantGenerator;
     private final PostImageRepository postImageRepository;
+    private final ImageDeleteOutboxRepository imageDeleteOutboxRepository;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
     public String upload(MultipartFile multipartFile, String dirName) throws IOException {
-        File uploadFile = convert(multipartFile)
-                .orElseThrow(() -> new IllegalArgumentException("MultipartFile -> File로 전환이 실패했습니다."));
-
-        return upload(uploadFile, dirName);
+        return uploadImage(multipartFile, dirName).getUrl();
     }
 
-    private String upload(File uploadFile, String filePath) {
-        String fileName = filePath + "/" + uploadFile.getName();
-        String uploadImageUrl = putS3(uploadFile, fileName); // S3로 업로드
+    /**
+     * 내용의 SHA-256으로 S3 키를 정하고, 같은 내용을 이미 올렸으면 다시 올리지 않고 그 객체를 참조하는 행만 추가한다.
+     * 처음 올리는 이미지는 원본을 올리고, 줄인 이미지는 작업 스레드에서 만들도록 넘긴다.
+     * 응답에는 이미 만들어져 PostImage에 기록된 줄인 이미지만 넣는다. 처음 올린 이미지는 원본만 돌려주고,
+     * 줄인 이미지는 다 만든 뒤 getImage로 받는다.
+     */
+    public PostImageResponse uploadImage(MultipartFile multipartFile, String dirName) throws IOException {
+        String contentHash = sha256(multipartFile);
+        Optional<ImageInfo> imageInfo = imageVariantGenerator.readInfo(multipartFile);
+        Integer width = imageInfo.map(ImageInfo::width).orElse(null);
 
-        log.info("uploadImageUrl = " + uploadImageUrl);
+        Optional<PostImage> uploaded = postImageRepository.findFirstByContentHash(contentHash);
+        PostImage postImage;
+        if (uploaded.isPresent()) {
+            log.info("이미 업로드한 이미지입니다. fileName = {}", uploaded.get().getFileName());
+            postImage = postImageRepository.save(uploaded.get().referenceFrom(null));
+        } else {
+            String extension = StringUtils.getFilenameExtension(multipartFile.getOriginalFilename());
+            String fileName = dirName + "/" + contentHash + (extension != null ? "." + extension.toLowerCase() : "");
 
-        removeNewFile(uploadFile);
+            // 지우려고 대기열에 넣어 둔 같은 내용의 이미지일 수 있다.
+            // 행을 먼저 저장(커밋)하고 대기열에서 빼서, ImageDeleteWorker가 방금 올린 객체를 지우지 않게 한다.
+            // 리사이즈가 끝나면 이 행에 줄인 이미지를 기록하므로 작업을 넘기기 전에 저장해야 하기도 한다.
+            postImage = postImageRepository.save(PostImage.builder()
+                    .fileName(fileName)
+                    .contentHash(contentHash)
+                    .width(width)
+                    .build());
+            imageDeleteOutboxRepository.deleteAllByOriginalFileName(fileName);
 
-        PostImage postImage = PostImage.builder()
-                .fileName(fileName)
-                .build();
-        postImageRepository.save(postImage);
+            try {
+                putS3(multipartFile, fileName); // S3로 업로드
+            } catch (IOException | RuntimeException e) {
+                // 대기열에서 뺀 옛 객체가 남아 있을 수 있으므로 참조가 없으면 다시 넣는다.
+                postImageRepository.delete(postImage);
+                deleteUnreferenced(List.of(postImage));
+                throw e;
+            }
 
-        return uploadImageUrl;
+            imageInfo.map(info -> imageVariantGenerator.plan(fileName, info))
+                    .ifPresent(variants -> imageVariantGenerator.submit(fileName, variants));
+        }
+
+        PostImageResponse response = toResponse(postImage);
+        log.info("uploadImageUrl = " + response.getUrl());
+        return response;
     }
 
-    // S3로 업로드
-    private String putS3(File uploadFile, String fileName) {
-        amazonS3.putObject(new PutObjectRequest(bucket, fileName, uploadFile)
-                .withCannedAcl(CannedAccessControlList.PublicRead));
-        return amazonS3.getUrl(bucket, fileName).toString();
+    /**
+     * 업로드한 이미지와 지금까지 만들어진 줄인 이미지를 돌려준다.
+     */
+    public Optional<PostImageResponse> getImage(String fileName) {
+        return postImageRepository.findFirstByFileName(fileName)
+                .map(this::toResponse);
     }
 
-    // 로컬에 저장된 이미지 지우기
-    private void removeNewFile(File targetFile) {
-        if (targetFile.delete()) {
-            log.info("파일이 삭제되었습니다.");
-        } else {
-            log.info("파일이 삭제되지 못했습니다.");
+    private PostImageResponse toResponse(PostImage postImage) {
+        return PostImageResponse.builder()
+                .url(amazonS3.getUrl(bucket, postImage.getFileName()).toString())
+                .width(postImage.getWidth())
+                .variants(postImage.getVariantFileNames().stream()
+                        .map(ImageVariant::of)
+                        .map(variant -> new Variant(variant.getWidth(),
+                                amazonS3.getUrl(bucket, variant.getFileName()).toString()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * 지운 행들이 참조하던 S3 객체 중 더 이상 참조하는 행이 없는 것만 지운다.
+     * 행을 먼저 지운 다음에 불러야 한다.
+     * S3에서 바로 지우지 않고 같은 트랜잭션에서 삭제 대기열(ImageDeleteOutbox)에 넣어 두면 ImageDeleteWorker가 지운다.
+     */
+    @Transactional
+    public void deleteUnreferenced(Collection<PostImage> deletedImages) {
+        Map<String, PostImage> imagesByFileName = new LinkedHashMap<>();
+        deletedImages.forEach(postImage -> imagesByFileName.putIfAbsent(postImage.getFileName(), postImage));
+        if (imagesByFileName.isEmpty()) {
+            return;
         }
+
+        postImageRepository.findReferencedFileNames(imagesByFileName.keySet())
+                .forEach(imagesByFileName::remove);
+        LocalDateTime now = LocalDateTime.now();
+        imageDeleteOutboxRepository.saveAll(imagesByFileName.values().stream()
+                .flatMap(postImage -> postImage.getAllFileNames().stream())
+                .map(fileName -> ImageDeleteOutbox.builder()
+                        .fileName(fileName)
+                        .nextAttemptDateTime(now)
+                        .build())
+                .toList());
     }
 
-    // 로컬에 파일 업로드 하기
-    private Optional<File> convert(MultipartFile file) throws IOException {
-        File convertFile =  new File(UUID.randomUUID() + "." + file.getOriginalFilename());
-        if(convertFile.createNewFile()) {
-            try (FileOutputStream fos = new FileOutputStream(convertFile)) {
-                fos.write(file.getBytes());
+    // 업로드된 파일을 한번 끝까지 읽어 해시만 구한다. (힙에 파일 전체를 올리지 않는다)
+    private String sha256(MultipartFile multipartFile) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (InputStream inputStream = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+            byte[] buffer = new byte[8192];
+            while (inputStream.read(buffer) != -1) {
+                // DigestInputStream이 읽는 대로 해시에 더한다.
             }
-            return Optional.of(convertFile);
         }
-        return Optional.empty();
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 업로드된 파일을 힙이나 로컬 파일로 옮기지 않고 InputStream 그대로 S3에 보낸다.
+     * 크기를 미리 알려주므로 SDK가 스트림을 버퍼링하지 않고,
+     * multipart-threshold를 넘는 파일은 part-size씩 나눠 multipart upload로 보낸다.
+     */
+    private void putS3(MultipartFile multipartFile, String fileName) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(multipartFile.getSize());
+        metadata.setContentType(multipartFile.getContentType());
+
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            transferManager.upload(new PutObjectRequest(bucket, fileName, inputStream, metadata)
+                            .withCannedAcl(CannedAccessControlList.PublicRead))
+                    .waitForCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 업로드가 중단되었습니다.");
+        } catch (AmazonClientException e) {
+            throw new IOException("S3 업로드에 실패했습니다.", e);
+        }
     }
 }
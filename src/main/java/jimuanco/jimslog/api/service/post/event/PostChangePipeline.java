@@ -0,0 +1,231 @@
+package jimuanco.jimslog.api.service.post.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jimuanco.jimslog.api.service.post.PostCache;
+import jimuanco.jimslog.api.service.post.PostSearchIndexer;
+import jimuanco.jimslog.api.service.tag.TagCloudCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+
+/**
+ * 커밋된 글 변경 이벤트를 모아서 글/태그 캐시 삭제, 검색 색인 갱신을 비동기로 처리한다.
+ * 같은 글의 변경은 coalesce-window 동안 하나로 합치고, batch-size개씩 묶어 처리한다.
+ * 대기열이 capacity만큼 차면 이벤트를 발행한 스레드에서 바로 처리해 쓰기 속도를 늦춘다. (back-pressure)
+ */
+@Slf4j
+@Component
+public class PostChangePipeline {
+
+    private final PostCache postCache;
+    private final PostSearchIndexer postSearchIndexer;
+    private final TagCloudCache tagCloudCache;
+    private final int capacity;
+    private final int batchSize;
+    private final long coalesceWindowMillis;
+
+    // postId별 대기중인 변경, 먼저 들어온 순서대로 처리한다.
+    private final LinkedHashMap<Long, PendingChange> pending = new LinkedHashMap<>();
+    // 워커와 flush()가 같은 글을 동시에 처리하지 않도록 꺼내기와 처리를 묶는다.
+    private final ReentrantLock processLock = new ReentrantLock();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private final Counter coalesced;
+    private final Counter overflowed;
+
+    public PostChangePipeline(PostCache postCache,
+                              PostSearchIndexer postSearchIndexer,
+                              TagCloudCache tagCloudCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${jimslog.post-events.capacity}") int capacity,
+                              @Value("${jimslog.post-events.batch-size}") int batchSize,
+                              @Value("${jimslog.post-events.coalesce-window}") Duration coalesceWindow) {
+        this.postCache = postCache;
+        this.postSearchIndexer = postSearchIndexer;
+        this.tagCloudCache = tagCloudCache;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.coalesceWindowMillis = coalesceWindow.toMillis();
+
+        this.meterRegistry = meterRegistry;
+        this.lag = meterRegistry.timer("jimslog.post.events.lag");
+        this.coalesced = meterRegistry.counter("jimslog.post.events.coalesced");
+        this.overflowed = meterRegistry.counter("jimslog.post.events.overflowed");
+        meterRegistry.gauge("jimslog.post.events.queue", this, PostChangePipeline::getQueueDepth);
+
+        this.worker = new Thread(this::run, "post-change-pipeline");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        meterRegistry.counter("jimslog.post.events", "type", event.getType().name()).increment();
+
+        synchronized (pending) {
+            if (pending.containsKey(event.getPostId())) {
+                // 아직 처리되지 않은 변경이 있으면 처리할 때 DB에서 최신 상태를 읽으므로 합친다.
+                coalesced.increment();
+                return;
+            }
+            if (pending.size() < capacity) {
+                pending.put(event.getPostId(), new PendingChange(event));
+                pending.notifyAll();
+                return;
+            }
+        }
+
+        overflowed.increment();
+        process(List.of(new PendingChange(event)));
+    }
+
+    /**
+     * 대기중인 변경을 호출한 스레드에서 모두 처리한다.
+     */
+    public void flush() {
+        processLock.lock();
+        try {
+            List<PendingChange> batch = drain(Integer.MAX_VALUE);
+            if (!batch.isEmpty()) {
+                process(batch);
+            }
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * 워커를 멈추고 남은 변경을 처리한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                awaitBatch();
+                processLock.lock();
+                try {
+                    List<PendingChange> batch = drain(batchSize);
+                    if (!batch.isEmpty()) {
+                        process(batch);
+                    }
+                } finally {
+                    processLock.unlock();
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    log.warn("글 변경 처리 워커가 중단되었습니다.", e);
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.error("글 변경 처리 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 변경이 들어올 때까지 기다린 뒤, 가장 오래된 변경이 coalesce-window만큼 지날 때까지 더 모은다.
+     * 밀려있으면 가장 오래된 변경이 이미 지났으므로 기다리지 않는다.
+     */
+    private void awaitBatch() throws InterruptedException {
+        synchronized (pending) {
+            while (pending.isEmpty()) {
+                pending.wait();
+            }
+
+            long waitMillis = pending.values().iterator().next().firstOccurredAt
+                    + coalesceWindowMillis - System.currentTimeMillis();
+            while (waitMillis > 0 && pending.size() < batchSize) {
+                pending.wait(waitMillis);
+                if (pending.isEmpty()) {
+                    return;
+                }
+                waitMillis = pending.values().iterator().next().firstOccurredAt
+                        + coalesceWindowMillis - System.currentTimeMillis();
+            }
+        }
+    }
+
+    private List<PendingChange> drain(int limit) {
+        List<PendingChange> batch = new ArrayList<>();
+        synchronized (pending) {
+            Iterator<Map.Entry<Long, PendingChange>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < limit) {
+                batch.add(iterator.next().getValue());
+                iterator.remove();
+            }
+        }
+        return batch;
+    }
+
+    private void process(List<PendingChange> batch) {
+        List<Long> postIds = batch.stream()
+                .map(change -> change.postId)
+                .toList();
+
+        try {
+            postCache.evictAll(postIds);
+            postCache.evictNavigations();
+            tagCloudCache.evict();
+        } catch (RuntimeException e) {
+            log.warn("글 캐시 삭제 실패. postIds: {}", postIds, e);
+        }
+
+        try {
+            postSearchIndexer.reindex(postIds);
+        } catch (RuntimeException e) {
+            // 색인에 반영되지 못한 글은 다음 WAS 시작시 checkpoint 이후 변경으로 다시 반영된다.
+            log.warn("검색 색인 갱신 실패. postIds: {}", postIds, e);
+        }
+
+        long now = System.currentTimeMillis();
+        batch.forEach(change -> lag.record(now - change.firstOccurredAt, TimeUnit.MILLISECONDS));
+        log.debug("글 변경 처리 완료. postIds: {}", postIds);
+    }
+
+    private record PendingChange(Long postId, long firstOccurredAt) {
+
+        private PendingChange(PostChangedEvent event) {
+            this(event.getPostId(), event.getOccurredAt());
+        }
+    }
+}
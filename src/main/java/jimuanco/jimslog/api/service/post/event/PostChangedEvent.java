@@ -0,0 +1,34 @@
+package jimuanco.jimslog.api.service.post.event;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 글 생성/수정/삭제 이벤트, 커밋 후 {@link PostChangePipeline}에서 처리한다.
+ */
+@Getter
+public class PostChangedEvent {
+
+    private final Long postId;
+    private final Type type;
+    private final long occurredAt;
+
+    @Builder
+    private PostChangedEvent(Long postId, Type type, long occurredAt) {
+        this.postId = postId;
+        this.type = type;
+        this.occurredAt = occurredAt;
+    }
+
+    public static PostChangedEvent of(Long postId, Type type) {
+        return PostChangedEvent.builder()
+                .postId(postId)
+                .type(type)
+                .occurredAt(System.currentTimeMillis())
+                .build();
+    }
+
+    public enum Type {
+        CREATED, EDITED, DELETED
+    }
+}
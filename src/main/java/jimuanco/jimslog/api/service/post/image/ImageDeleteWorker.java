@@ -0,0 +1,163 @@
+package jimuanco.jimslog.api.service.post.image;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jimuanco.jimslog.domain.post.ImageDeleteOutbox;
+import jimuanco.jimslog.domain.post.ImageDeleteOutboxRepository;
+import jimuanco.jimslog.domain.post.PostImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ImageDeleteOutbox에 쌓인 S3 객체를 multi-object delete로 한번에 batch-size개씩 지운다.
+ * 요청 트랜잭션에서는 지울 키만 기록하므로 S3 왕복을 기다리지 않는다.
+ * 여러 WAS가 같은 행을 동시에 가져가도 S3 삭제는 여러 번 해도 결과가 같다.
+ * 대기열에 넣은 뒤 다시 참조된 키는 지우지 않는다.
+ */
+@Slf4j
+@Component
+public class ImageDeleteWorker {
+
+    // S3 DeleteObjects 한번에 보낼 수 있는 최대 키 개수
+    private static final int MAX_KEYS_PER_REQUEST = 1000;
+
+    private final AmazonS3 amazonS3;
+    private final ImageDeleteOutboxRepository imageDeleteOutboxRepository;
+    private final PostImageRepository postImageRepository;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Counter deleted;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Counter skipped;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    public ImageDeleteWorker(AmazonS3 amazonS3,
+                             ImageDeleteOutboxRepository imageDeleteOutboxRepository,
+                             PostImageRepository postImageRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${jimslog.s3.delete.batch-size}") int batchSize,
+                             @Value("${jimslog.s3.delete.max-attempts}") int maxAttempts,
+                             @Value("${jimslog.s3.delete.retry-backoff}") Duration retryBackoff,
+                             @Value("${jimslog.s3.delete.max-retry-backoff}") Duration maxRetryBackoff) {
+        this.amazonS3 = amazonS3;
+        this.imageDeleteOutboxRepository = imageDeleteOutboxRepository;
+        this.postImageRepository = postImageRepository;
+        this.batchSize = Math.min(batchSize, MAX_KEYS_PER_REQUEST);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+
+        this.deleted = meterRegistry.counter("jimslog.s3.delete", "result", "deleted");
+        this.retried = meterRegistry.counter("jimslog.s3.delete", "result", "retried");
+        this.dropped = meterRegistry.counter("jimslog.s3.delete", "result", "dropped");
+        this.skipped = meterRegistry.counter("jimslog.s3.delete", "result", "skipped");
+    }
+
+    @Scheduled(fixedDelayString = "${jimslog.s3.delete.interval}",
+            initialDelayString = "${jimslog.s3.delete.interval}")
+    public void drain() {
+        try {
+            List<ImageDeleteOutbox> batch;
+            do {
+                batch = imageDeleteOutboxRepository.findAllByNextAttemptDateTimeLessThanEqualOrderByNextAttemptDateTimeAscIdAsc(
+                        LocalDateTime.now(), PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    delete(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("S3 이미지 삭제 대기열 처리 실패.", e);
+        }
+    }
+
+    private void delete(List<ImageDeleteOutbox> batch) {
+        batch = skipReferenced(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> failedKeys;
+        try {
+            amazonS3.deleteObjects(new DeleteObjectsRequest(bucket)
+                    .withKeys(batch.stream().map(outbox -> new KeyVersion(outbox.getFileName())).toList())
+                    .withQuiet(true));
+            failedKeys = Set.of();
+        } catch (MultiObjectDeleteException e) {
+            failedKeys = e.getErrors().stream()
+                    .map(MultiObjectDeleteException.DeleteError::getKey)
+                    .collect(Collectors.toSet());
+            log.warn("S3 이미지 일부 삭제 실패. {}개", failedKeys.size(), e);
+        } catch (RuntimeException e) {
+            failedKeys = batch.stream().map(ImageDeleteOutbox::getFileName).collect(Collectors.toSet());
+            log.warn("S3 이미지 삭제 실패. {}개", failedKeys.size(), e);
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        List<ImageDeleteOutbox> retries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (ImageDeleteOutbox outbox : batch) {
+            if (!failedKeys.contains(outbox.getFileName())) {
+                doneIds.add(outbox.getId());
+                deleted.increment();
+            } else if (outbox.getAttempts() + 1 >= maxAttempts) {
+                log.error("S3 이미지 삭제를 {}번 실패해서 포기합니다. {}", maxAttempts, outbox.getFileName());
+                doneIds.add(outbox.getId());
+                dropped.increment();
+            } else {
+                outbox.retryLater(now, retryBackoff, maxRetryBackoff);
+                retries.add(outbox);
+                retried.increment();
+            }
+        }
+
+        imageDeleteOutboxRepository.deleteAllByIdInBatch(doneIds);
+        imageDeleteOutboxRepository.saveAll(retries);
+    }
+
+    /**
+     * 키는 내용 해시라서 대기열에 넣은 뒤에 같은 이미지를 다시 올리면 같은 키를 다시 참조한다.
+     * 지우기 직전에 원본 키를 참조하는 행이 있으면 지우지 않고 대기열에서만 뺀다.
+     */
+    private List<ImageDeleteOutbox> skipReferenced(List<ImageDeleteOutbox> batch) {
+        Set<String> originalFileNames = batch.stream()
+                .map(outbox -> ImageVariant.originalFileNameOf(outbox.getFileName()))
+                .collect(Collectors.toSet());
+        Set<String> referenced = new HashSet<>(postImageRepository.findReferencedFileNames(originalFileNames));
+        if (referenced.isEmpty()) {
+            return batch;
+        }
+
+        List<ImageDeleteOutbox> targets = new ArrayList<>();
+        List<Long> skippedIds = new ArrayList<>();
+        for (ImageDeleteOutbox outbox : batch) {
+            if (referenced.contains(ImageVariant.originalFileNameOf(outbox.getFileName()))) {
+                skippedIds.add(outbox.getId());
+                skipped.increment();
+            } else {
+                targets.add(outbox);
+            }
+        }
+        imageDeleteOutboxRepository.deleteAllByIdInBatch(skippedIds);
+        return targets;
+    }
+}
@@ -0,0 +1,48 @@
+package jimuanco.jimslog.api.service.post.image;
+
+import lombok.Getter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 원본 이미지를 가로 width로 줄여서 fileName에 저장할 이미지
+ */
+@Getter
+public class ImageVariant {
+
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("_w(\\d+)\\.(\\w+)$");
+
+    private final int width;
+    private final String fileName;
+    private final String format;
+
+    public ImageVariant(int width, String fileName, String format) {
+        this.width = width;
+        this.fileName = fileName;
+        this.format = format;
+    }
+
+    /**
+     * ImageVariantGenerator가 정한 파일 이름(원본_w너비.형식)에서 다시 만든다.
+     */
+    public static ImageVariant of(String fileName) {
+        Matcher matcher = FILE_NAME_PATTERN.matcher(fileName);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("리사이즈한 이미지 파일 이름이 아닙니다. " + fileName);
+        }
+        return new ImageVariant(Integer.parseInt(matcher.group(1)), fileName, matcher.group(2));
+    }
+
+    /**
+     * 리사이즈한 이미지 파일 이름이면 원본 파일 이름, 아니면 그대로 반환한다.
+     */
+    public static String originalFileNameOf(String fileName) {
+        Matcher matcher = FILE_NAME_PATTERN.matcher(fileName);
+        return matcher.find() ? fileName.substring(0, matcher.start()) : fileName;
+    }
+
+    public String getContentType() {
+        return "image/" + ("jpg".equals(format) ? "jpeg" : format);
+    }
+}
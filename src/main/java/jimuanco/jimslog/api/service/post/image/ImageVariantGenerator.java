@@ -0,0 +1,297 @@
+package jimuanco.jimslog.api.service.post.image;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jimuanco.jimslog.domain.post.ImageDeleteOutbox;
+import jimuanco.jimslog.domain.post.ImageDeleteOutboxRepository;
+import jimuanco.jimslog.domain.post.PostImage;
+import jimuanco.jimslog.domain.post.PostImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드한 이미지를 variant-widths 너비로 줄인 이미지를 만들어 원본 옆에 저장한다.
+ * 요청 스레드에서는 이미지 헤더만 읽어 만들 이미지를 정하고, 디코딩/리사이즈/인코딩은 고정된 크기의 작업 스레드에서 한다.
+ * 대기열이 가득 차거나 헤더에 적힌 픽셀 수가 max-pixels를 넘으면 만들지 않고 원본만 쓴다.
+ * 다 만든 이미지만 PostImage에 기록하므로, 기록되지 않은 이미지를 srcset에 넣는 일은 없다.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private final AmazonS3 amazonS3;
+    private final PostImageRepository postImageRepository;
+    private final ImageDeleteOutboxRepository imageDeleteOutboxRepository;
+    private final List<Integer> variantWidths;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueTime;
+    private final Timer encodeTime;
+    private final Counter rejected;
+    private final Counter failed;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    public ImageVariantGenerator(AmazonS3 amazonS3,
+                                 PostImageRepository postImageRepository,
+                                 ImageDeleteOutboxRepository imageDeleteOutboxRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${jimslog.image.variant-widths}") List<Integer> variantWidths,
+                                 @Value("${jimslog.image.jpeg-quality}") float jpegQuality,
+                                 @Value("${jimslog.image.max-pixels}") long maxPixels,
+                                 @Value("${jimslog.image.threads}") int threads,
+                                 @Value("${jimslog.image.queue-capacity}") int queueCapacity) {
+        this.amazonS3 = amazonS3;
+        this.postImageRepository = postImageRepository;
+        this.imageDeleteOutboxRepository = imageDeleteOutboxRepository;
+        this.variantWidths = variantWidths.stream().sorted().toList();
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.queueTime = Timer.builder("jimslog.image.variants.queue")
+                .description("리사이즈 작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.encodeTime = Timer.builder("jimslog.image.variants.encode")
+                .description("이미지 하나를 리사이즈 + 인코딩하는데 걸린 시간")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("jimslog.image.variants", "result", "rejected");
+        this.failed = meterRegistry.counter("jimslog.image.variants", "result", "failed");
+        meterRegistry.gauge("jimslog.image.variants.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * 이미지 헤더만 읽어 원본 크기를 구한다. 읽을 수 없는 이미지면 비어 있다.
+     */
+    public Optional<ImageInfo> readInfo(MultipartFile multipartFile) throws IOException {
+        try (InputStream inputStream = multipartFile.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                ImageTypeSpecifier type = reader.getRawImageType(0);
+                boolean hasAlpha = type != null && type.getColorModel().hasAlpha();
+                return Optional.of(new ImageInfo(reader.getWidth(0), reader.getHeight(0), hasAlpha));
+            } catch (IOException | RuntimeException e) {
+                log.debug("이미지 헤더 읽기 실패. {}", multipartFile.getOriginalFilename(), e);
+                return Optional.empty();
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 원본보다 좁은 너비만 만든다. 투명도가 있으면 PNG, 없으면 JPEG로 저장한다.
+     * 작은 파일도 헤더에 큰 크기를 적어 두면 디코딩할 때 힙을 다 쓸 수 있으므로 max-pixels를 넘으면 만들지 않는다.
+     */
+    public List<ImageVariant> plan(String fileName, ImageInfo info) {
+        if (info.pixels() > maxPixels) {
+            log.warn("이미지가 너무 커서 리사이즈하지 않습니다. {} ({}x{})", fileName, info.width(), info.height());
+            return List.of();
+        }
+
+        String format = info.hasAlpha() ? "png" : "jpg";
+        return variantWidths.stream()
+                .filter(width -> width < info.width())
+                .map(width -> new ImageVariant(width, fileName + "_w" + width + "." + format, format))
+                .toList();
+    }
+
+    /**
+     * 대기열에 넣지 못하면 false를 돌려준다. 이때는 줄인 이미지를 쓰지 않는다.
+     */
+    public boolean submit(String fileName, List<ImageVariant> variants) {
+        if (variants.isEmpty()) {
+            return true;
+        }
+
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueTime.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                generate(fileName, variants);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("이미지 리사이즈 대기열이 가득 찼습니다. {}", fileName);
+            return false;
+        }
+    }
+
+    /**
+     * 만들기에 성공한 이미지만 원본을 참조하는 PostImage 행에 기록한다.
+     * 그 사이 원본을 참조하는 행이 모두 지워졌으면 방금 올린 이미지도 삭제 대기열에 넣는다.
+     */
+    void generate(String fileName, List<ImageVariant> variants) {
+        List<String> generated = new ArrayList<>();
+        try {
+            BufferedImage original;
+            try (S3Object s3Object = amazonS3.getObject(bucket, fileName)) {
+                original = ImageIO.read(s3Object.getObjectContent());
+            }
+            if (original == null) {
+                throw new IOException("이미지를 읽을 수 없습니다.");
+            }
+
+            for (ImageVariant variant : variants) {
+                try {
+                    encodeTime.record(() -> put(variant, resize(original, variant.getWidth())));
+                    generated.add(variant.getFileName());
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.warn("이미지 리사이즈 실패. {}", variant.getFileName(), e);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("이미지 리사이즈 실패. {}", fileName, e);
+        }
+
+        if (generated.isEmpty()) {
+            return;
+        }
+        if (postImageRepository.updateVariants(fileName, PostImage.joinVariantFileNames(generated)) == 0) {
+            LocalDateTime now = LocalDateTime.now();
+            imageDeleteOutboxRepository.saveAll(generated.stream()
+                    .map(variantFileName -> ImageDeleteOutbox.builder()
+                            .fileName(variantFileName)
+                            .nextAttemptDateTime(now)
+                            .build())
+                    .toList());
+        }
+    }
+
+    private void put(ImageVariant variant, BufferedImage image) {
+        byte[] bytes;
+        try {
+            bytes = encode(image, variant.getFormat());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(bytes.length);
+        metadata.setContentType(variant.getContentType());
+        amazonS3.putObject(new PutObjectRequest(bucket, variant.getFileName(), new ByteArrayInputStream(bytes), metadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead));
+    }
+
+    // 한번에 크게 줄이면 bilinear 보간이 픽셀을 건너뛰어 거칠어지므로 절반씩 나눠 줄인다.
+    private BufferedImage resize(BufferedImage original, int width) {
+        int type = original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = original;
+        int currentWidth = original.getWidth();
+        int currentHeight = original.getHeight();
+        do {
+            int nextWidth = Math.max(currentWidth / 2, width);
+            int nextHeight = Math.max(1, (int) Math.round((double) original.getHeight() * nextWidth / original.getWidth()));
+
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!"jpg".equals(format)) {
+            ImageIO.write(image, format, out);
+            return out.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    public record ImageInfo(int width, int height, boolean hasAlpha) {
+
+        public long pixels() {
+            return (long) width * height;
+        }
+    }
+}
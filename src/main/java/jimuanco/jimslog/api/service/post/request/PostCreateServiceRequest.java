@@ -14,15 +14,18 @@ public class PostCreateServiceRequest {
     private int menuId;
     private List<String> uploadImageUrls;
     private List<String> deleteImageUrls;
+    private List<String> tags;
 
     @Builder
     private PostCreateServiceRequest(String title, String content, int menuId,
-                                     List<String> uploadImageUrls, List<String> deleteImageUrls) {
+                                     List<String> uploadImageUrls, List<String> deleteImageUrls,
+                                     List<String> tags) {
         this.title = title;
         this.content = content;
         this.menuId = menuId;
         this.uploadImageUrls = uploadImageUrls;
         this.deleteImageUrls = deleteImageUrls;
+        this.tags = tags;
     }
 
     public Post toEntity(Menu menu) {
@@ -13,15 +13,18 @@ public class PostEditServiceRequest {
     private int menuId;
     private List<String> uploadImageUrls;
     private List<String> deleteImageUrls;
+    private List<String> tags;
 
     @Builder
     private PostEditServiceRequest(String title, String content, int menuId,
                                    List<String> uploadImageUrls,
-                                   List<String> deleteImageUrls) {
+                                   List<String> deleteImageUrls,
+                                   List<String> tags) {
         this.title = title;
         this.content = content;
         this.menuId = menuId;
         this.uploadImageUrls = uploadImageUrls;
         this.deleteImageUrls = deleteImageUrls;
+        this.tags = tags;
     }
 }
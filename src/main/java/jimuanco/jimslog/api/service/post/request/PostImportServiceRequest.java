@@ -0,0 +1,44 @@
+package jimuanco.jimslog.api.service.post.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 가져올 글 한 건, NDJSON의 한 줄에서 읽는다.
+ * 메뉴는 이름(menu)으로 찾고, 작성 시간이 없으면 가져온 시간으로 저장한다.
+ */
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+public class PostImportServiceRequest {
+
+    @NotBlank(message = "제목을 입력해주세요.")
+    private String title;
+
+    @NotBlank(message = "내용을 입력해주세요.")
+    private String content;
+
+    private String menu;
+
+    @Size(max = 10, message = "태그는 10개까지 입력할 수 있습니다.")
+    private List<@Size(max = 30, message = "태그는 30자까지 입력할 수 있습니다.") String> tags;
+
+    private LocalDateTime createdDateTime;
+
+    @Builder
+    private PostImportServiceRequest(String title, String content, String menu, List<String> tags,
+                                     LocalDateTime createdDateTime) {
+        this.title = title;
+        this.content = content;
+        this.menu = menu;
+        this.tags = tags;
+        this.createdDateTime = createdDateTime;
+    }
+}
@@ -13,15 +13,30 @@ public class PostSearchServiceRequest {
     private int page;
     private int size;
     private int menuId;
+    private Long after;
+    private Long before;
+    private String tag;
 
     @Builder
-    private PostSearchServiceRequest(int page, int size, int menuId) {
+    private PostSearchServiceRequest(int page, int size, int menuId, Long after, Long before, String tag) {
         this.page = page;
         this.size = size;
         this.menuId = menuId;
+        this.after = after;
+        this.before = before;
+        this.tag = tag;
     }
 
     public long getOffset() {
-        return (long) (max(1, page) - 1) * min(size, MAX_SIZE);
+        return (long) (max(1, page) - 1) * getLimit();
+    }
+
+    public int getLimit() {
+        return min(size, MAX_SIZE);
+    }
+
+    // after, before 커서가 있으면 offset 대신 id 기준으로 탐색한다.
+    public boolean isCursorMode() {
+        return after != null || before != null;
     }
 }
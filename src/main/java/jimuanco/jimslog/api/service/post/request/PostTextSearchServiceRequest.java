@@ -0,0 +1,31 @@
+package jimuanco.jimslog.api.service.post.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+@Getter
+public class PostTextSearchServiceRequest {
+
+    private static final int MAX_SIZE = 100;
+    private String query;
+    private int page;
+    private int size;
+
+    @Builder
+    private PostTextSearchServiceRequest(String query, int page, int size) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+    }
+
+    public long getOffset() {
+        return (long) (max(1, page) - 1) * getLimit();
+    }
+
+    public int getLimit() {
+        return min(max(1, size), MAX_SIZE);
+    }
+}
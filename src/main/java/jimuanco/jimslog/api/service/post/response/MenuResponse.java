@@ -24,23 +24,28 @@ public class MenuResponse {
         this.children = children;
     }
 
-    public MenuResponse(Menu menu) {
-        this.id = menu.getId();
-        this.name = menu.getName();
-        this.listOrder = menu.getListOrder();
-        this.children = menu.getChildren().stream()
-                .map(child -> {
-                    int count = child.getPostList().size();
-                    this.postsCount += count;
-
-                    return MenuResponse.builder()
-                            .id(child.getId())
-                            .name(child.getName())
-                            .listOrder(child.getListOrder())
-                            .postsCount(count)
-                            .build();
-                })
+    /**
+     * 메인 메뉴의 글 갯수에는 서브 메뉴의 글 갯수가 포함된다.
+     */
+    public static MenuResponse of(Menu menu) {
+        List<MenuResponse> children = menu.getChildren().stream()
+                .map(child -> MenuResponse.builder()
+                        .id(child.getId())
+                        .name(child.getName())
+                        .listOrder(child.getListOrder())
+                        .postsCount(child.getPostCount())
+                        .build())
                 .collect(Collectors.toList());
-        this.postsCount += menu.getPostList().size();
+
+        int postsCount = menu.getPostCount() +
+                children.stream().mapToInt(MenuResponse::getPostsCount).sum();
+
+        return MenuResponse.builder()
+                .id(menu.getId())
+                .name(menu.getName())
+                .listOrder(menu.getListOrder())
+                .postsCount(postsCount)
+                .children(children)
+                .build();
     }
 }
@@ -0,0 +1,19 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostBatchResponse {
+
+    private List<PostSummaryResponse> posts;
+    private List<Long> missingIds;
+
+    @Builder
+    private PostBatchResponse(List<PostSummaryResponse> posts, List<Long> missingIds) {
+        this.posts = posts;
+        this.missingIds = missingIds;
+    }
+}
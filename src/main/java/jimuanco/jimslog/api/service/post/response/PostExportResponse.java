@@ -0,0 +1,43 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 백업/이전용 글 한 건, NDJSON의 한 줄이 된다.
+ * 다른 서버로 가져올 때는 메뉴 id 대신 메뉴 이름(menu)으로 찾는다.
+ */
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+public class PostExportResponse {
+
+    private Long id;
+    private String title;
+    private String content;
+    private Long menuId;
+    private String menu;
+    private List<String> tags;
+    private long viewCount;
+    private LocalDateTime createdDateTime;
+    private LocalDateTime modifiedDateTime;
+
+    @Builder
+    public PostExportResponse(Long id, String title, String content, Long menuId, String menu, List<String> tags,
+                              long viewCount, LocalDateTime createdDateTime, LocalDateTime modifiedDateTime) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.menuId = menuId;
+        this.menu = menu;
+        this.tags = tags;
+        this.viewCount = viewCount;
+        this.createdDateTime = createdDateTime;
+        this.modifiedDateTime = modifiedDateTime;
+    }
+}
@@ -0,0 +1,47 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostImageResponse {
+
+    private String url;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer width;
+    private List<Variant> variants;
+    // <img srcset>에 그대로 넣을 수 있는 "URL 너비w" 목록, 원본 너비를 모르면 null
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String srcset;
+
+    @Builder
+    private PostImageResponse(String url, Integer width, List<Variant> variants) {
+        this.url = url;
+        this.width = width;
+        this.variants = variants;
+        this.srcset = (width == null) ? null : toSrcset(url, width, variants);
+    }
+
+    private static String toSrcset(String url, int width, List<Variant> variants) {
+        StringBuilder srcset = new StringBuilder();
+        for (Variant variant : variants) {
+            srcset.append(variant.getUrl()).append(' ').append(variant.getWidth()).append("w, ");
+        }
+        return srcset.append(url).append(' ').append(width).append('w').toString();
+    }
+
+    @Getter
+    public static class Variant {
+
+        private int width;
+        private String url;
+
+        public Variant(int width, String url) {
+            this.width = width;
+            this.url = url;
+        }
+    }
+}
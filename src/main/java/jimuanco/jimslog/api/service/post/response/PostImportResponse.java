@@ -0,0 +1,38 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostImportResponse {
+
+    private int total;
+    private int imported;
+    private int failed;
+    private List<Failure> failures;
+
+    @Builder
+    private PostImportResponse(int total, int imported, int failed, List<Failure> failures) {
+        this.total = total;
+        this.imported = imported;
+        this.failed = failed;
+        this.failures = failures;
+    }
+
+    /**
+     * 가져오지 못한 줄, line은 1부터 센다.
+     */
+    @Getter
+    public static class Failure {
+
+        private int line;
+        private String message;
+
+        public Failure(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
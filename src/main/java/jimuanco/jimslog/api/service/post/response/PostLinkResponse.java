@@ -0,0 +1,24 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import static lombok.AccessLevel.PROTECTED;
+
+@Getter
+@ToString
+@NoArgsConstructor(access = PROTECTED)
+public class PostLinkResponse {
+
+    private Long id;
+    private String title;
+
+    // QueryDSL 생성자 projection에서 사용하므로 public으로 연다.
+    @Builder
+    public PostLinkResponse(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+}
@@ -0,0 +1,32 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 이전/다음 글, 메뉴에 속하지 않은 글은 menuPrevious/menuNext가 없다.
+ * toString은 ETag 계산에 쓰인다.
+ */
+@Getter
+@ToString
+@NoArgsConstructor(access = PROTECTED)
+public class PostNavigationResponse {
+
+    private PostLinkResponse previous;
+    private PostLinkResponse next;
+    private PostLinkResponse menuPrevious;
+    private PostLinkResponse menuNext;
+
+    @Builder
+    private PostNavigationResponse(PostLinkResponse previous, PostLinkResponse next,
+                                   PostLinkResponse menuPrevious, PostLinkResponse menuNext) {
+        this.previous = previous;
+        this.next = next;
+        this.menuPrevious = menuPrevious;
+        this.menuNext = menuNext;
+    }
+}
@@ -1,33 +1,65 @@
 package jimuanco.jimslog.api.service.post.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jimuanco.jimslog.domain.post.Post;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static lombok.AccessLevel.PROTECTED;
 
 @Getter
+@NoArgsConstructor(access = PROTECTED)
 public class PostResponse {
 
     private Long id;
     private String title;
     private String content;
     private LocalDateTime createdDateTime;
+    private LocalDateTime modifiedDateTime;
+    private List<String> tags;
+    @JsonInclude(NON_NULL)
+    private PostNavigationResponse navigation;
 
     @Builder
-    private PostResponse(Long id, String title, String content, LocalDateTime createdDateTime) {
+    private PostResponse(Long id, String title, String content, LocalDateTime createdDateTime,
+                         LocalDateTime modifiedDateTime, List<String> tags, PostNavigationResponse navigation) {
         this.id = id;
         this.title = title;
         this.content = content;
         this.createdDateTime = createdDateTime;
+        this.modifiedDateTime = modifiedDateTime;
+        this.tags = tags;
+        this.navigation = navigation;
     }
 
-    public static PostResponse of(Post post) {
+    public static PostResponse of(Post post, List<String> tags) {
         return PostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
                 .createdDateTime(post.getCreatedDateTime())
+                .modifiedDateTime(post.getModifiedDateTime())
+                .tags(tags)
+                .build();
+    }
+
+    /**
+     * 캐시된 응답은 공유되므로 고치지 않고 이전/다음 글을 붙인 사본을 만든다.
+     */
+    public PostResponse withNavigation(PostNavigationResponse navigation) {
+        return PostResponse.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .createdDateTime(createdDateTime)
+                .modifiedDateTime(modifiedDateTime)
+                .tags(tags)
+                .navigation(navigation)
                 .build();
     }
 }
@@ -0,0 +1,19 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostSearchResponse {
+
+    private int total;
+    private List<PostSearchResultResponse> posts;
+
+    @Builder
+    private PostSearchResponse(int total, List<PostSearchResultResponse> posts) {
+        this.total = total;
+        this.posts = posts;
+    }
+}
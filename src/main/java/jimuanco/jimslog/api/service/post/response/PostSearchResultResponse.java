@@ -0,0 +1,63 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import jimuanco.jimslog.utils.SearchTokenizer.Token;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class PostSearchResultResponse {
+
+    private Long id;
+    private String title;
+    private LocalDateTime createdDateTime;
+    private Long menuId;
+    private String excerpt;
+    private int wordCount;
+    private String snippet;
+    private List<Highlight> highlights;
+
+    @Builder
+    private PostSearchResultResponse(Long id, String title, LocalDateTime createdDateTime, Long menuId,
+                                     String excerpt, int wordCount, String snippet, List<Highlight> highlights) {
+        this.id = id;
+        this.title = title;
+        this.createdDateTime = createdDateTime;
+        this.menuId = menuId;
+        this.excerpt = excerpt;
+        this.wordCount = wordCount;
+        this.snippet = snippet;
+        this.highlights = highlights;
+    }
+
+    public static PostSearchResultResponse of(PostSummaryResponse summary, String snippet, List<Token> highlights) {
+        return PostSearchResultResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .createdDateTime(summary.getCreatedDateTime())
+                .menuId(summary.getMenuId())
+                .excerpt(summary.getExcerpt())
+                .wordCount(summary.getWordCount())
+                .snippet(snippet)
+                .highlights(highlights.stream()
+                        .map(token -> new Highlight(token.getStartOffset(), token.getEndOffset()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * snippet에서 검색어에 해당하는 구간 [start, end)
+     */
+    @Getter
+    public static class Highlight {
+        private final int start;
+        private final int end;
+
+        public Highlight(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
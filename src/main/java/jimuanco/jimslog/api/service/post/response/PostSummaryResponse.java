@@ -0,0 +1,33 @@
+package jimuanco.jimslog.api.service.post.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PROTECTED;
+
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+public class PostSummaryResponse {
+
+    private Long id;
+    private String title;
+    private LocalDateTime createdDateTime;
+    private Long menuId;
+    private String excerpt;
+    private int wordCount;
+
+    // QueryDSL 생성자 projection에서 사용하므로 public으로 연다.
+    @Builder
+    public PostSummaryResponse(Long id, String title, LocalDateTime createdDateTime, Long menuId,
+                               String excerpt, int wordCount) {
+        this.id = id;
+        this.title = title;
+        this.createdDateTime = createdDateTime;
+        this.menuId = menuId;
+        this.excerpt = excerpt;
+        this.wordCount = wordCount;
+    }
+}
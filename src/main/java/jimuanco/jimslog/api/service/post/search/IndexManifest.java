@@ -0,0 +1,41 @@
+package jimuanco.jimslog.api.service.post.search;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 검색 색인 디렉토리의 현재 상태, 이 파일에 기록된 세그먼트만 유효하다.
+ * checkpoint: 색인에 반영된 글의 최대 수정 시각, 전체 색인이 끝나기 전에는 null
+ */
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+public class IndexManifest {
+
+    private long generation;
+    private String checkpoint;
+    private List<SegmentEntry> segments = new ArrayList<>();
+
+    public IndexManifest(long generation, String checkpoint, List<SegmentEntry> segments) {
+        this.generation = generation;
+        this.checkpoint = checkpoint;
+        this.segments = segments;
+    }
+
+    @Getter
+    @NoArgsConstructor(access = PROTECTED)
+    public static class SegmentEntry {
+        private String name;
+        private Set<Long> deleted;
+
+        public SegmentEntry(String name, Set<Long> deleted) {
+            this.name = name;
+            this.deleted = deleted;
+        }
+    }
+}
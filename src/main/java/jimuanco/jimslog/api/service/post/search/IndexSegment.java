@@ -0,0 +1,134 @@
+package jimuanco.jimslog.api.service.post.search;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static jimuanco.jimslog.api.service.post.search.IndexSegmentWriter.*;
+
+/**
+ * 메모리 맵으로 읽는 불변 검색 색인 세그먼트, 파일 구조는 {@link IndexSegmentWriter} 참고
+ * 파일을 열 때는 footer만 읽으므로 세그먼트 크기와 상관없이 바로 열린다.
+ */
+public class IndexSegment {
+
+    @Getter
+    private final String name;
+    private final ByteBuffer buffer;
+    private final long termIndexOffset;
+    @Getter
+    private final int termCount;
+    @Getter
+    private final int docCount;
+
+    private IndexSegment(String name, ByteBuffer buffer) {
+        this.name = name;
+        this.buffer = buffer;
+
+        int footer = buffer.limit() - FOOTER_BYTES;
+        if (footer < 0 || buffer.getInt(footer + Long.BYTES + Integer.BYTES * 2) != MAGIC) {
+            throw new IllegalStateException("검색 색인 세그먼트 파일이 아닙니다. name: " + name);
+        }
+        int version = buffer.getInt(footer + Long.BYTES + Integer.BYTES * 3);
+        if (version != VERSION) {
+            throw new IllegalStateException("지원하지 않는 세그먼트 버전입니다. name: " + name + ", version: " + version);
+        }
+        this.termIndexOffset = buffer.getLong(footer);
+        this.termCount = buffer.getInt(footer + Long.BYTES);
+        this.docCount = buffer.getInt(footer + Long.BYTES + Integer.BYTES);
+    }
+
+    public static IndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("세그먼트 파일이 너무 큽니다. path: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size());
+            return new IndexSegment(path.getFileName().toString(), buffer);
+        }
+    }
+
+    public long postId(int docOrdinal) {
+        return buffer.getLong(docOrdinal * DOC_ENTRY_BYTES);
+    }
+
+    public int docLength(int docOrdinal) {
+        return buffer.getInt(docOrdinal * DOC_ENTRY_BYTES + Long.BYTES);
+    }
+
+    /**
+     * 단어 인덱스를 이진 탐색해 단어 순번을 찾는다, 없으면 -1
+     */
+    public int findTerm(String term) {
+        byte[] target = term.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(termOffset(mid), target);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public byte[] termBytes(int termOrdinal) {
+        int offset = termOffset(termOrdinal);
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+        buffer.get(offset + Short.BYTES, bytes);
+        return bytes;
+    }
+
+    public int postingCount(int termOrdinal) {
+        return buffer.getInt(postingsStart(termOrdinal) - Integer.BYTES);
+    }
+
+    public int postingDoc(int termOrdinal, int index) {
+        return buffer.getInt(postingsStart(termOrdinal) + index * POSTING_BYTES);
+    }
+
+    public int postingFrequency(int termOrdinal, int index) {
+        return buffer.getInt(postingsStart(termOrdinal) + index * POSTING_BYTES + Integer.BYTES);
+    }
+
+    /**
+     * 원본 본문에서 단어가 처음 나오는 위치(code point 기준), 제목에만 있으면 -1
+     */
+    public int postingPosition(int termOrdinal, int index) {
+        return buffer.getInt(postingsStart(termOrdinal) + index * POSTING_BYTES + Integer.BYTES * 2);
+    }
+
+    private int termOffset(int termOrdinal) {
+        return (int) buffer.getLong((int) termIndexOffset + termOrdinal * Long.BYTES);
+    }
+
+    private int postingsStart(int termOrdinal) {
+        int offset = termOffset(termOrdinal);
+        return offset + Short.BYTES + Short.toUnsignedInt(buffer.getShort(offset)) + Integer.BYTES;
+    }
+
+    private int compareTerm(int offset, byte[] target) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        int start = offset + Short.BYTES;
+        int common = Math.min(length, target.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), target[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, target.length);
+    }
+}
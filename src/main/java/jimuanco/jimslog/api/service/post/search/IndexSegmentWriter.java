@@ -0,0 +1,108 @@
+package jimuanco.jimslog.api.service.post.search;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 검색 색인 세그먼트 파일 작성
+ * 파일 구조 (big-endian)
+ * - 문서 테이블: 문서 순번(ordinal)별 [postId(long), 문서 길이(int)], postId 오름차순
+ * - 단어별 [단어 길이(short), 단어(UTF-8), posting 수(int), posting [문서 순번(int), 단어 빈도(int), 본문 위치(int)]...]
+ *   본문 위치는 원본 본문에서 단어가 처음 나오는 위치(code point 기준), 제목에만 있으면 -1
+ * - 단어 인덱스: 단어 오름차순(UTF-8 바이트 기준)으로 각 단어 시작 위치(long)
+ * - footer: 단어 인덱스 위치(long), 단어 수(int), 문서 수(int), MAGIC(int), VERSION(int)
+ * 단어는 반드시 UTF-8 바이트 오름차순으로 추가해야 한다.
+ */
+public class IndexSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x4A534958;
+    static final int VERSION = 2;
+    static final int DOC_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+    static final int POSTING_BYTES = Integer.BYTES * 3;
+    static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES * 4;
+
+    private final Path path;
+    private final DataOutputStream out;
+    private final int docCount;
+    private long position;
+    private long[] termOffsets = new long[1024];
+    private int termCount;
+    private byte[] lastTerm;
+
+    public IndexSegmentWriter(Path path, long[] postIds, int[] docLengths) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        this.docCount = postIds.length;
+
+        for (int i = 0; i < postIds.length; i++) {
+            if (i > 0 && postIds[i - 1] >= postIds[i]) {
+                throw new IllegalArgumentException("postId는 오름차순이어야 합니다.");
+            }
+            out.writeLong(postIds[i]);
+            out.writeInt(docLengths[i]);
+        }
+        position = (long) docCount * DOC_ENTRY_BYTES;
+    }
+
+    public void addTerm(byte[] term, int[] docOrdinals, int[] frequencies, int[] positions, int count)
+            throws IOException {
+        if (lastTerm != null && Arrays.compareUnsigned(lastTerm, term) >= 0) {
+            throw new IllegalArgumentException("단어는 오름차순으로 추가해야 합니다.");
+        }
+        lastTerm = term;
+
+        if (termCount == termOffsets.length) {
+            termOffsets = Arrays.copyOf(termOffsets, termCount * 2);
+        }
+        termOffsets[termCount++] = position;
+
+        out.writeShort(term.length);
+        out.write(term);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(docOrdinals[i]);
+            out.writeInt(frequencies[i]);
+            out.writeInt(positions[i]);
+        }
+        position += Short.BYTES + term.length + Integer.BYTES + (long) count * POSTING_BYTES;
+    }
+
+    public void addTerm(String term, int[] docOrdinals, int[] frequencies, int[] positions, int count)
+            throws IOException {
+        addTerm(term.getBytes(StandardCharsets.UTF_8), docOrdinals, frequencies, positions, count);
+    }
+
+    /**
+     * 단어 인덱스와 footer를 쓰고 디스크에 반영(fsync)한다.
+     */
+    public void finish() throws IOException {
+        long termIndexOffset = position;
+        for (int i = 0; i < termCount; i++) {
+            out.writeLong(termOffsets[i]);
+        }
+        out.writeLong(termIndexOffset);
+        out.writeInt(termCount);
+        out.writeInt(docCount);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.close();
+
+        try (FileChannel channel = FileChannel.open(path, WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,96 @@
+package jimuanco.jimslog.api.service.post.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 인기 글 순위, Redis sorted set에 글마다 시간이 지날수록 줄어드는 점수를 둔다.
+ * 조회수는 PostViewCounter가 Redis로 옮길 때 같이 더하고, decay-interval마다 전체 점수에 같은 비율을 곱해 줄인다.
+ * 점수는 half-life마다 절반이 되므로 최근에 많이 본 글이 위로 올라온다.
+ */
+@Slf4j
+@Component
+public class PopularPostRanking {
+
+    private static final String RANKING_KEY = "post-popularity";
+    private static final String DECAY_LOCK_KEY_PREFIX = "post-popularity:decayed:";
+    // 이 점수보다 낮아진 글은 순위에서 뺀다. (조회수 1이 half-life의 10배 가까이 지난 정도)
+    private static final double MIN_SCORE = 0.001;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration decayInterval;
+    private final double decayFactor;
+    private final int maxRankedPosts;
+
+    public PopularPostRanking(StringRedisTemplate redisTemplate,
+                              @Value("${jimslog.post-popularity.half-life}") Duration halfLife,
+                              @Value("${jimslog.post-popularity.decay-interval}") Duration decayInterval,
+                              @Value("${jimslog.post-popularity.max-ranked-posts}") int maxRankedPosts) {
+        this.redisTemplate = redisTemplate;
+        this.decayInterval = decayInterval;
+        this.decayFactor = Math.pow(0.5, (double) decayInterval.toMillis() / halfLife.toMillis());
+        this.maxRankedPosts = maxRankedPosts;
+    }
+
+    /**
+     * 파이프라인 안에서 조회수만큼 점수를 더한다.
+     */
+    public void increase(RedisOperations<String, String> operations, Long postId, long views) {
+        operations.opsForZSet().incrementScore(RANKING_KEY, String.valueOf(postId), views);
+    }
+
+    public List<Long> getTopPostIds(int limit) {
+        Set<String> postIds = redisTemplate.opsForZSet().reverseRange(RANKING_KEY, 0, limit - 1);
+        if (postIds == null) {
+            return List.of();
+        }
+        return postIds.stream()
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    public void remove(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForZSet().remove(RANKING_KEY, postIds.stream().map(String::valueOf).toArray());
+    }
+
+    /**
+     * 전체 점수에 decayFactor를 곱한다.
+     * WAS마다 스케줄이 돌지만 구간마다 먼저 잠금 키를 잡은 WAS 한 곳에서만 줄인다.
+     */
+    @Scheduled(fixedRateString = "${jimslog.post-popularity.decay-interval}",
+            initialDelayString = "${jimslog.post-popularity.decay-interval}")
+    public void decay() {
+        long bucket = System.currentTimeMillis() / decayInterval.toMillis();
+        try {
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(DECAY_LOCK_KEY_PREFIX + bucket, "1", decayInterval.multipliedBy(2));
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+            decayNow();
+        } catch (RuntimeException e) {
+            log.warn("인기 글 점수 감소 실패.", e);
+        }
+    }
+
+    void decayNow() {
+        redisTemplate.opsForZSet().unionAndStore(
+                RANKING_KEY, List.of(), RANKING_KEY, Aggregate.SUM, Weights.of(decayFactor));
+        redisTemplate.opsForZSet().removeRangeByScore(RANKING_KEY, Double.NEGATIVE_INFINITY, MIN_SCORE);
+        redisTemplate.opsForZSet().removeRange(RANKING_KEY, 0, -maxRankedPosts - 1L);
+    }
+}
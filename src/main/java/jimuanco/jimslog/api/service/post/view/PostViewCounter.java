@@ -0,0 +1,245 @@
+package jimuanco.jimslog.api.service.post.view;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jimuanco.jimslog.domain.post.PostBulkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 글 조회수 집계
+ * 요청마다 DB 행을 갱신하지 않고 WAS 메모리(LongAdder) -> Redis(HINCRBY) -> DB(batch UPDATE) 순서로 모아서 반영한다.
+ * 같은 클라이언트가 dedup-window 안에 다시 본 글은 블룸 필터로 걸러 세지 않는다. (WAS마다 따로 거른다)
+ */
+@Slf4j
+@Component
+public class PostViewCounter {
+
+    private static final String PENDING_KEY = "post-views:pending";
+    private static final String FLUSHING_KEY_PREFIX = "post-views:flushing:";
+
+    // 글 수만큼만 생기므로 비워도 지우지 않는다. 지우면 지우는 사이에 들어온 증가분을 잃을 수 있다.
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final RotatingBloomFilter viewedFilter;
+    private final StringRedisTemplate redisTemplate;
+    private final PostBulkRepository postBulkRepository;
+    private final PopularPostRanking popularPostRanking;
+    private final int chunkSize;
+    private final Duration flushingTimeout;
+    private final Counter counted;
+    private final Counter duplicated;
+
+    public PostViewCounter(StringRedisTemplate redisTemplate,
+                           PostBulkRepository postBulkRepository,
+                           PopularPostRanking popularPostRanking,
+                           MeterRegistry meterRegistry,
+                           @Value("${jimslog.post-views.chunk-size}") int chunkSize,
+                           @Value("${jimslog.post-views.flushing-timeout}") Duration flushingTimeout,
+                           @Value("${jimslog.post-views.dedup-window}") Duration dedupWindow,
+                           @Value("${jimslog.post-views.dedup-expected-views}") long dedupExpectedViews,
+                           @Value("${jimslog.post-views.dedup-fpp}") double dedupFpp) {
+        this.redisTemplate = redisTemplate;
+        this.postBulkRepository = postBulkRepository;
+        this.popularPostRanking = popularPostRanking;
+        this.chunkSize = chunkSize;
+        this.flushingTimeout = flushingTimeout;
+        this.viewedFilter = new RotatingBloomFilter(
+                dedupExpectedViews, dedupFpp, dedupWindow.toMillis(), System.currentTimeMillis());
+
+        this.counted = meterRegistry.counter("jimslog.post.views", "result", "counted");
+        this.duplicated = meterRegistry.counter("jimslog.post.views", "result", "duplicated");
+    }
+
+    public void increase(Long postId, String clientKey) {
+        if (!viewedFilter.add(postId + ":" + clientKey, System.currentTimeMillis())) {
+            duplicated.increment();
+            return;
+        }
+
+        counts.computeIfAbsent(postId, id -> new LongAdder()).increment();
+        counted.increment();
+    }
+
+    /**
+     * WAS 메모리에 모인 조회수를 Redis hash로 옮기면서 인기 글 점수에도 더한다.
+     * 실패하면 다시 메모리에 되돌려 다음에 옮긴다.
+     */
+    @Scheduled(fixedDelayString = "${jimslog.post-views.redis-flush-interval}",
+            initialDelayString = "${jimslog.post-views.redis-flush-interval}")
+    public void flushToRedis() {
+        Map<Long, Long> increments = drain();
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    @SuppressWarnings("unchecked")
+                    RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                    increments.forEach((postId, count) -> {
+                        stringOperations.opsForHash().increment(PENDING_KEY, String.valueOf(postId), count);
+                        popularPostRanking.increase(stringOperations, postId, count);
+                    });
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("조회수 Redis 반영 실패. 글 {}개", increments.size(), e);
+            increments.forEach((postId, count) -> counts.computeIfAbsent(postId, id -> new LongAdder()).add(count));
+        }
+    }
+
+    /**
+     * Redis에 모인 조회수를 DB에 반영한다.
+     * pending hash를 이 WAS만 쓰는 키로 RENAME해서 가져오므로 여러 WAS가 동시에 돌아도 같은 증가분을 두 번 반영하지 않는다.
+     * 가져간 뒤에 실패하면 그 키를 남겨 두고, flushing-timeout이 지나도록 남아 있는 키는 다음 번에 다시 가져가 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${jimslog.post-views.db-flush-interval}",
+            initialDelayString = "${jimslog.post-views.db-flush-interval}")
+    public void flushToDatabase() {
+        recoverAbandoned();
+
+        String flushingKey = newFlushingKey();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(PENDING_KEY))) {
+                return;
+            }
+            redisTemplate.rename(PENDING_KEY, flushingKey);
+        } catch (RuntimeException e) {
+            if (isNoSuchKey(e)) {
+                // 다른 WAS가 먼저 가져갔으면 RENAME할 키가 없다.
+                log.debug("조회수 DB 반영 대상을 다른 WAS가 먼저 가져갔습니다.");
+            } else {
+                log.warn("조회수 DB 반영 대상 가져오기 실패. 다음에 다시 가져간다.", e);
+            }
+            return;
+        }
+        flush(flushingKey);
+    }
+
+    // 이전에 가져간 뒤 반영하지 못하고 남은 키를 이 WAS의 키로 RENAME해서 다시 반영한다.
+    private void recoverAbandoned() {
+        List<String> abandonedKeys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(FLUSHING_KEY_PREFIX + "*")
+                .count(100)
+                .build())) {
+            long deadline = System.currentTimeMillis() - flushingTimeout.toMillis();
+            cursor.forEachRemaining(key -> {
+                if (flushingStartedAt(key) < deadline) {
+                    abandonedKeys.add(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("남은 조회수 반영 대상 조회 실패.", e);
+            return;
+        }
+
+        for (String abandonedKey : abandonedKeys) {
+            String flushingKey = newFlushingKey();
+            try {
+                redisTemplate.rename(abandonedKey, flushingKey);
+            } catch (RuntimeException e) {
+                if (!isNoSuchKey(e)) {
+                    log.warn("남은 조회수 반영 대상 가져오기 실패. {}", abandonedKey, e);
+                }
+                continue;
+            }
+            log.warn("반영하지 못하고 남은 조회수를 다시 반영합니다. {}", abandonedKey);
+            flush(flushingKey);
+        }
+    }
+
+    private void flush(String flushingKey) {
+        Map<Long, Long> increments = new HashMap<>();
+        try {
+            redisTemplate.<String, String>opsForHash().entries(flushingKey)
+                    .forEach((postId, count) -> increments.put(Long.valueOf(postId), Long.valueOf(count)));
+        } catch (RuntimeException e) {
+            log.warn("조회수 DB 반영 대상 조회 실패. {}에 남겨두고 다음에 다시 반영한다.", flushingKey, e);
+            return;
+        }
+
+        try {
+            postBulkRepository.increaseViewCounts(increments, chunkSize);
+        } catch (RuntimeException e) {
+            log.warn("조회수 DB 반영 실패. 다음에 다시 반영한다. 글 {}개", increments.size(), e);
+            try {
+                incrementPending(increments);
+            } catch (RuntimeException redisException) {
+                log.error("조회수 되돌리기 실패. {}에 남겨둔다.", flushingKey, redisException);
+                return;
+            }
+        }
+        redisTemplate.delete(flushingKey);
+    }
+
+    // 키에 가져간 시각을 넣어 두고, 시각을 읽을 수 없는 키는 오래된 키로 본다.
+    private String newFlushingKey() {
+        return FLUSHING_KEY_PREFIX + System.currentTimeMillis() + ":" + UUID.randomUUID();
+    }
+
+    private long flushingStartedAt(String flushingKey) {
+        String rest = flushingKey.substring(FLUSHING_KEY_PREFIX.length());
+        int separator = rest.indexOf(':');
+        try {
+            return (separator > 0) ? Long.parseLong(rest.substring(0, separator)) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private boolean isNoSuchKey(RuntimeException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("no such key");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushToRedis();
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> increments = new HashMap<>();
+        counts.forEach((postId, adder) -> {
+            long count = adder.sumThenReset();
+            if (count != 0) {
+                increments.put(postId, count);
+            }
+        });
+        return increments;
+    }
+
+    private void incrementPending(Map<Long, Long> increments) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                @SuppressWarnings("unchecked")
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                increments.forEach((postId, count) ->
+                        stringOperations.opsForHash().increment(PENDING_KEY, String.valueOf(postId), count));
+                return null;
+            }
+        });
+    }
+}
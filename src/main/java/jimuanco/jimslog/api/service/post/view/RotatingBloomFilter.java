@@ -0,0 +1,131 @@
+package jimuanco.jimslog.api.service.post.view;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 일정 시간이 지나면 잊는 블룸 필터
+ * 현재/이전 두 세대를 두고 window마다 이전 세대를 버리므로 한번 넣은 키는 window ~ 2 * window 동안 기억한다.
+ * 기억하는 동안 다시 넣어도 기간이 늘어나지 않는다.
+ * 처음 보는 키를 이미 본 키로 잘못 판단할 수는 있지만(fpp), 본 키를 놓치지는 않는다.
+ */
+public class RotatingBloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+    private final long windowMillis;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long rotatedAt;
+
+    public RotatingBloomFilter(long expectedInsertions, double fpp, long windowMillis, long now) {
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.windowMillis = windowMillis;
+        this.current = newBits();
+        this.previous = newBits();
+        this.rotatedAt = now;
+    }
+
+    /**
+     * 키를 넣고, 처음 보는 키면 true를 반환한다.
+     */
+    public boolean add(String key, long now) {
+        rotateIfExpired(now);
+
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash1 = hash(bytes, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(bytes, 0xC2B2AE3D27D4EB4FL) | 1;
+
+        AtomicLongArray current = this.current;
+        AtomicLongArray previous = this.previous;
+        // 이전 세대에서 본 키는 현재 세대에 옮기지 않는다. 계속 보더라도 2 * window 안에는 다시 세게 된다.
+        if (containsAll(previous, hash1, hash2)) {
+            return false;
+        }
+
+        boolean seen = true;
+        for (int i = 0; i < hashCount; i++) {
+            seen &= set(current, bitIndex(hash1, hash2, i));
+        }
+        return !seen;
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private void rotateIfExpired(long now) {
+        if (now - rotatedAt < windowMillis) {
+            return;
+        }
+
+        synchronized (this) {
+            if (now - rotatedAt < windowMillis) {
+                return;
+            }
+            // 두 window 넘게 아무도 넣지 않았으면 이전 세대도 이미 지난 기록이다.
+            previous = (now - rotatedAt < windowMillis * 2) ? current : newBits();
+            current = newBits();
+            rotatedAt = now;
+        }
+    }
+
+    private boolean containsAll(AtomicLongArray bits, long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            if (!isSet(bits, bitIndex(hash1, hash2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(long hash1, long hash2, int i) {
+        return (int) Math.floorMod(hash1 + i * hash2, (long) bitCount);
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * 비트를 켜고, 이미 켜져 있었으면 true를 반환한다.
+     */
+    private static boolean set(AtomicLongArray bits, int bit) {
+        int index = bit >>> 6;
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = bits.get(index);
+            if ((word & mask) != 0) {
+                return true;
+            }
+        } while (!bits.compareAndSet(index, word, word | mask));
+        return false;
+    }
+
+    private static boolean isSet(AtomicLongArray bits, int bit) {
+        return (bits.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    // FNV-1a에 seed를 섞고 murmur3 finalizer로 비트를 고르게 퍼뜨린다.
+    private static long hash(byte[] bytes, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
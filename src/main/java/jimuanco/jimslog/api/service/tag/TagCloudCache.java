@@ -0,0 +1,83 @@
+package jimuanco.jimslog.api.service.tag;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 태그 목록(글 수 포함) 로컬 캐시
+ * 글이 등록/수정/삭제되면 PostChangePipeline에서 무효화한다.
+ */
+@Slf4j
+@Component
+public class TagCloudCache {
+
+    private static final String EVICT_CHANNEL = "tag-cache:evict";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile List<TagResponse> tags;
+    private long generation;
+
+    public TagCloudCache(StringRedisTemplate redisTemplate,
+                         MeterRegistry meterRegistry,
+                         RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.hits = meterRegistry.counter("jimslog.cache.tag", "result", "hit");
+        this.misses = meterRegistry.counter("jimslog.cache.tag", "result", "miss");
+
+        // 다른 WAS에서 글이 바뀌면 로컬 캐시를 지운다.
+        listenerContainer.addMessageListener((message, pattern) -> clear(), new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    public List<TagResponse> get(Supplier<List<TagResponse>> loader) {
+        List<TagResponse> cached = tags;
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadingGeneration = currentGeneration();
+        List<TagResponse> loaded = List.copyOf(loader.get());
+
+        // 조회하는 동안 무효화되었다면 옛 태그 목록을 캐싱하지 않는다.
+        synchronized (this) {
+            if (generation == loadingGeneration) {
+                tags = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 커밋된 변경을 처리하는 중에 호출되므로 바로 지우고 다른 WAS에도 알린다.
+     */
+    public void evict() {
+        clear();
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, "all");
+        } catch (RuntimeException e) {
+            log.warn("태그 캐시 무효화 메시지 발행 실패", e);
+        }
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void clear() {
+        generation++;
+        tags = null;
+    }
+}
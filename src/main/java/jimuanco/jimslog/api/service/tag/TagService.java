@@ -0,0 +1,103 @@
+package jimuanco.jimslog.api.service.tag;
+
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.tag.PostTag;
+import jimuanco.jimslog.domain.tag.PostTagRepository;
+import jimuanco.jimslog.domain.tag.Tag;
+import jimuanco.jimslog.domain.tag.TagRepository;
+import jimuanco.jimslog.exception.TagNotFound;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class TagService {
+
+    private final TagRepository tagRepository;
+    private final PostTagRepository postTagRepository;
+    private final TagCloudCache tagCloudCache;
+
+    public List<TagResponse> getTagCloud() {
+        return tagCloudCache.get(tagRepository::getTagCloud);
+    }
+
+    public Long getTagId(String name) {
+        return tagRepository.findByName(Tag.normalize(name))
+                .map(Tag::getId)
+                .orElseThrow(TagNotFound::new);
+    }
+
+    public List<String> getTagNames(Long postId) {
+        return postTagRepository.findAllByPostId(postId).stream()
+                .map(postTag -> postTag.getTag().getName())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 글의 태그를 names로 바꾼다, 없는 태그는 새로 만든다.
+     * 바뀐 것이 없으면 false
+     */
+    @Transactional
+    public boolean replaceTags(Post post, List<String> names) {
+        Set<String> normalizedNames = names.stream()
+                .map(Tag::normalize)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (post.getId() != null && getTagNames(post.getId()).equals(List.copyOf(normalizedNames))) {
+            return false;
+        }
+
+        postTagRepository.deleteAllByPostId(post.getId());
+        if (normalizedNames.isEmpty()) {
+            return true;
+        }
+
+        Map<String, Tag> tags = findOrCreateTags(normalizedNames);
+        postTagRepository.saveAll(normalizedNames.stream()
+                .map(name -> PostTag.builder()
+                        .post(post)
+                        .tag(tags.get(name))
+                        .build())
+                .toList());
+        return true;
+    }
+
+    /**
+     * 정규화된 태그 이름별 id, 없는 태그는 새로 만든다.
+     */
+    @Transactional
+    public Map<String, Long> getOrCreateTagIds(Set<String> normalizedNames) {
+        if (normalizedNames.isEmpty()) {
+            return Map.of();
+        }
+        return findOrCreateTags(normalizedNames).values().stream()
+                .collect(Collectors.toMap(Tag::getName, Tag::getId));
+    }
+
+    @Transactional
+    public void removeTags(Long postId) {
+        postTagRepository.deleteAllByPostId(postId);
+    }
+
+    private Map<String, Tag> findOrCreateTags(Set<String> normalizedNames) {
+        Map<String, Tag> tags = tagRepository.findAllByNameIn(normalizedNames).stream()
+                .collect(Collectors.toMap(Tag::getName, Function.identity()));
+        List<Tag> newTags = normalizedNames.stream()
+                .filter(name -> !tags.containsKey(name))
+                .map(name -> Tag.builder().name(name).build())
+                .toList();
+        tagRepository.saveAll(newTags).forEach(tag -> tags.put(tag.getName(), tag));
+        return tags;
+    }
+}
@@ -0,0 +1,18 @@
+package jimuanco.jimslog.api.service.tag.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class TagResponse {
+
+    private String name;
+    private int postsCount;
+
+    // QueryDSL 생성자 projection에서 사용하므로 public으로 연다.
+    @Builder
+    public TagResponse(String name, int postsCount) {
+        this.name = name;
+        this.postsCount = postsCount;
+    }
+}
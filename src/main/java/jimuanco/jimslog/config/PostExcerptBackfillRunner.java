@@ -0,0 +1,49 @@
+package jimuanco.jimslog.config;
+
+import jimuanco.jimslog.domain.post.PostBulkRepository;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostExcerptDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 요약 컬럼 추가 이전에 작성된 글들의 요약을 채우는 일회성 작업
+ * backfill.post-excerpt.enabled=true 로 실행했을 때만 동작한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "backfill.post-excerpt.enabled", havingValue = "true")
+@Component
+public class PostExcerptBackfillRunner implements ApplicationRunner {
+
+    private final PostBulkRepository postBulkRepository;
+
+    @Value("${backfill.post-excerpt.chunk-size}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("글 요약 backfill 작업 시작");
+
+        long lastId = 0;
+        int total = 0;
+        List<PostExcerptDto> chunk = postBulkRepository.findExcerptTargets(lastId, chunkSize);
+
+        while (!chunk.isEmpty()) {
+            postBulkRepository.updateExcerpts(chunk);
+            total += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+            log.info("글 요약 backfill 진행중. lastId: {}, total: {}", lastId, total);
+
+            chunk = postBulkRepository.findExcerptTargets(lastId, chunkSize);
+        }
+
+        log.info("글 요약 backfill 작업 완료. total: {}", total);
+    }
+}
@@ -0,0 +1,22 @@
+package jimuanco.jimslog.config;
+
+import jimuanco.jimslog.api.service.post.PostSearchIndexer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * WAS 시작시 디스크의 검색 색인을 열고, 없으면 전체 글로 새로 만든다.
+ */
+@RequiredArgsConstructor
+@Component
+public class PostSearchIndexInitializer implements ApplicationRunner {
+
+    private final PostSearchIndexer postSearchIndexer;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        postSearchIndexer.open();
+    }
+}
@@ -0,0 +1,46 @@
+package jimuanco.jimslog.config;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class S3TransferConfig {
+
+    @Value("${jimslog.s3.upload.multipart-threshold}")
+    private DataSize multipartThreshold;
+
+    @Value("${jimslog.s3.upload.part-size}")
+    private DataSize partSize;
+
+    @Value("${jimslog.s3.upload.threads}")
+    private int threads;
+
+    private TransferManager transferManager;
+
+    // 종료할 때 AmazonS3 빈까지 닫지 않도록 destroyMethod를 쓰지 않고 직접 닫는다.
+    @Bean(destroyMethod = "")
+    public TransferManager transferManager(AmazonS3 amazonS3) {
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThreshold.toBytes())
+                .withMinimumUploadPartSize(partSize.toBytes())
+                .withExecutorFactory(() -> Executors.newFixedThreadPool(threads))
+                .build();
+        return transferManager;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (transferManager != null) {
+            transferManager.shutdownNow(false);
+        }
+    }
+}
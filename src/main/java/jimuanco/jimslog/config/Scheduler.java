@@ -1,6 +1,9 @@
 package jimuanco.jimslog.config;
 
-import com.amazonaws.services.s3.AmazonS3;
+import jimuanco.jimslog.api.service.menu.MenuCache;
+import jimuanco.jimslog.api.service.post.S3Uploader;
+import jimuanco.jimslog.domain.menu.MenuBulkRepository;
+import jimuanco.jimslog.domain.menu.MenuBulkRepository.MenuPostCountDto;
 import jimuanco.jimslog.domain.post.PostImage;
 import jimuanco.jimslog.domain.post.PostImageRepository;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -21,15 +25,18 @@ import java.util.stream.Collectors;
 @Component
 public class Scheduler {
 
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
-
     @Value("${schedules.post-images.limit-time}")
     private int limitTime;
 
+    @Value("${schedules.menu-post-count.chunk-size}")
+    private int menuPostCountChunkSize;
+
     private final PostImageRepository postImageRepository;
-    private final AmazonS3 amazonS3;
+    private final S3Uploader s3Uploader;
+    private final MenuBulkRepository menuBulkRepository;
+    private final MenuCache menuCache;
 
+    @Transactional
     @Scheduled(cron = "${schedules.cron.post-images.delete}", zone = "Asia/Seoul")
     public void deleteUnNecessaryImage() {
         log.info("불필요한 이미지 삭제 스케줄러 작동 시작");
@@ -39,11 +46,44 @@ public class Scheduler {
         List<PostImage> deletePostImages = postImages.stream()
                 .filter(postImage ->
                         Duration.between(postImage.getCreatedDateTime(), LocalDateTime.now()).toSeconds() >= limitTime)
-                .peek(postImage -> amazonS3.deleteObject(bucket, postImage.getFileName()))
                 .collect(Collectors.toList());
 
+        // 다른 글이 참조하는 이미지는 행만 지우고 S3 객체는 남긴다.
         postImageRepository.deleteAllInBatch(deletePostImages);
+        s3Uploader.deleteUnreferenced(deletePostImages);
 
         log.info("불필요한 이미지 삭제 스케줄러 작동 완료");
     }
+
+    @Scheduled(cron = "${schedules.cron.menu-post-count.reconcile}", zone = "Asia/Seoul")
+    public void reconcileMenuPostCount() {
+        log.info("메뉴 글 갯수 보정 스케줄러 작동 시작");
+
+        long lastId = 0;
+        int reconciled = 0;
+        List<MenuPostCountDto> postCounts;
+        do {
+            postCounts = menuBulkRepository.findPostCounts(lastId, menuPostCountChunkSize);
+            if (postCounts.isEmpty()) {
+                break;
+            }
+
+            List<Long> driftedMenuIds = postCounts.stream()
+                    .filter(MenuPostCountDto::isDrifted)
+                    .map(MenuPostCountDto::getId)
+                    .collect(Collectors.toList());
+            if (!driftedMenuIds.isEmpty()) {
+                menuBulkRepository.reconcilePostCounts(driftedMenuIds);
+                reconciled += driftedMenuIds.size();
+            }
+
+            lastId = postCounts.get(postCounts.size() - 1).getId();
+        } while (postCounts.size() == menuPostCountChunkSize);
+
+        if (reconciled != 0) {
+            menuCache.evict();
+        }
+
+        log.info("메뉴 글 갯수 보정 스케줄러 작동 완료 (보정된 메뉴: {}개)", reconciled);
+    }
 }
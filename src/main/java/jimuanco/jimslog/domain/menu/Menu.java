@@ -5,6 +5,7 @@ import jimuanco.jimslog.domain.post.Post;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +31,14 @@ public class Menu {
 
     private int listOrder;
 
+    /**
+     * 메뉴에 직접 속한 글 갯수, 서브 메뉴의 글 갯수는 포함하지 않는다.
+     * 증감 쿼리로만 변경하므로 엔티티 변경 감지로 덮어쓰지 않도록 insert/update에서 제외한다.
+     */
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private int postCount;
+
     @OneToMany(mappedBy = "parent", cascade = ALL)
     private List<Menu> children = new ArrayList<>();
 
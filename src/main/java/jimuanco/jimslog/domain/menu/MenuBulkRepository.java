@@ -6,12 +6,16 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -97,6 +101,78 @@ public class MenuBulkRepository {
         );
     }
 
+    /**
+     * 메뉴 이름으로 id를 찾는다, 같은 이름의 메뉴가 여럿이면 먼저 만든 메뉴를 쓴다.
+     */
+    public Map<String, Long> findMenuIdsByName() {
+        Map<String, Long> menuIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM menu ORDER BY id",
+                (RowCallbackHandler) rs -> menuIds.putIfAbsent(rs.getString("name"), rs.getLong("id")));
+        return menuIds;
+    }
+
+    @Transactional
+    public void increasePostCounts(Map<Long, Integer> postCounts) {
+        String sql = "UPDATE menu SET post_count = post_count + ? WHERE id = ?";
+
+        List<Map.Entry<Long, Integer>> increments = new ArrayList<>(postCounts.entrySet());
+        jdbcTemplate.batchUpdate(
+                sql,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, increments.get(i).getValue());
+                        ps.setLong(2, increments.get(i).getKey());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return increments.size();
+                    }
+                }
+        );
+    }
+
+    /**
+     * id 순서로 limit 개수의 메뉴를 읽어 저장된 글 갯수와 실제 글 갯수를 함께 조회한다.
+     */
+    public List<MenuPostCountDto> findPostCounts(long lastId, int limit) {
+        String sql = "SELECT m.id, m.post_count, COUNT(p.id) AS actual_count " +
+                "FROM (SELECT id, post_count FROM menu WHERE id > ? ORDER BY id LIMIT ?) m " +
+                "LEFT JOIN post p ON p.menu_id = m.id " +
+                "GROUP BY m.id, m.post_count " +
+                "ORDER BY m.id";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> MenuPostCountDto.builder()
+                .id(rs.getLong("id"))
+                .postCount(rs.getLong("post_count"))
+                .actualCount(rs.getLong("actual_count"))
+                .build(), lastId, limit);
+    }
+
+    /**
+     * 글 갯수를 다시 세어 덮어쓴다, 증감 쿼리와 동시에 실행되어도 한 문장 안에서 계산되므로 값이 어긋나지 않는다.
+     */
+    @Transactional
+    public void reconcilePostCounts(List<Long> menuIds) {
+        String sql = "UPDATE menu SET post_count = (SELECT COUNT(*) FROM post WHERE post.menu_id = menu.id) WHERE id = ?";
+
+        jdbcTemplate.batchUpdate(
+                sql,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, menuIds.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return menuIds.size();
+                    }
+                }
+        );
+    }
+
     @Getter
     static class SubMenuDto {
         private String name;
@@ -110,4 +186,22 @@ public class MenuBulkRepository {
             this.parentId = parentId;
         }
     }
+
+    @Getter
+    public static class MenuPostCountDto {
+        private Long id;
+        private long postCount;
+        private long actualCount;
+
+        @Builder
+        public MenuPostCountDto(Long id, long postCount, long actualCount) {
+            this.id = id;
+            this.postCount = postCount;
+            this.actualCount = actualCount;
+        }
+
+        public boolean isDrifted() {
+            return postCount != actualCount;
+        }
+    }
 }
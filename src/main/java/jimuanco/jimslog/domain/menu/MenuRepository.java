@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,4 +18,14 @@ public interface MenuRepository extends JpaRepository<Menu, Long>, MenuRepositor
     void deleteAllByIdInQuery(@Param("ids") List<Long> ids);
 
     Optional<Menu> findByName(String name);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Menu m set m.postCount = m.postCount + 1 where m.id = :id")
+    void increasePostCount(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Menu m set m.postCount = m.postCount - 1 where m.id = :id")
+    void decreasePostCount(@Param("id") Long id);
 }
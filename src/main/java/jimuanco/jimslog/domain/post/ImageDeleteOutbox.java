@@ -0,0 +1,50 @@
+package jimuanco.jimslog.domain.post;
+
+import jakarta.persistence.*;
+import jimuanco.jimslog.domain.BaseEntity;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 지워야 할 S3 객체, 글/이미지 행을 지우는 트랜잭션에서 같이 넣고 ImageDeleteWorker가 모아서 지운다.
+ */
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_image_delete_outbox_next_attempt", columnList = "next_attempt_date_time, id"))
+public class ImageDeleteOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptDateTime;
+
+    @Builder
+    public ImageDeleteOutbox(String fileName, LocalDateTime nextAttemptDateTime) {
+        this.fileName = fileName;
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    /**
+     * 실패할 때마다 backoff를 두배씩 늘려서 다시 시도한다.
+     */
+    public void retryLater(LocalDateTime now, Duration backoff, Duration maxBackoff) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts, 20));
+        attempts++;
+        nextAttemptDateTime = now.plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+}
@@ -0,0 +1,27 @@
+package jimuanco.jimslog.domain.post;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageDeleteOutboxRepository extends JpaRepository<ImageDeleteOutbox, Long> {
+
+    List<ImageDeleteOutbox> findAllByNextAttemptDateTimeLessThanEqualOrderByNextAttemptDateTimeAscIdAsc(
+            LocalDateTime now, Pageable pageable);
+
+    /**
+     * 원본과 그 원본으로 만든 줄인 이미지(원본 이름 + "_w너비.확장자")를 삭제 대기열에서 뺀다.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ImageDeleteOutbox o where o.fileName like concat(:fileName, '%')")
+    int deleteAllByOriginalFileName(@Param("fileName") String fileName);
+}
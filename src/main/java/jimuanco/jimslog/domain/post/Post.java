@@ -4,9 +4,11 @@ import jakarta.persistence.*;
 import jimuanco.jimslog.domain.BaseEntity;
 import jimuanco.jimslog.domain.menu.Menu;
 import jimuanco.jimslog.domain.user.User;
+import jimuanco.jimslog.utils.MarkdownUtils;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import static jakarta.persistence.FetchType.LAZY;
 import static jakarta.persistence.GenerationType.IDENTITY;
@@ -17,6 +19,8 @@ import static lombok.AccessLevel.PROTECTED;
 @Entity
 public class Post extends BaseEntity {
 
+    public static final int EXCERPT_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = IDENTITY)
     private Long id;
@@ -26,6 +30,20 @@ public class Post extends BaseEntity {
     @Column(columnDefinition = "LONGTEXT")
     private String content;
 
+    // 목록 조회용으로 글 작성/수정 시점에 미리 계산해 둔다.
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    private int wordCount;
+
+    /**
+     * 조회수, PostViewCounter가 모아서 증가 쿼리로만 반영한다.
+     * 엔티티 변경 감지로 덮어쓰지 않도록 insert/update에서 제외한다.
+     */
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private long viewCount;
+
     @ManyToOne(fetch = LAZY)
     private User user;
 
@@ -38,11 +56,19 @@ public class Post extends BaseEntity {
         this.content = content;
         this.user = user;
         this.menu = menu;
+        updateSummary();
     }
 
     public void edit(String title, String content, Menu menu) {
         this.title = title;
         this.content = content;
         this.menu = menu;
+        updateSummary();
+    }
+
+    private void updateSummary() {
+        String plainText = MarkdownUtils.toPlainText(content);
+        this.excerpt = MarkdownUtils.excerpt(plainText, EXCERPT_LENGTH);
+        this.wordCount = MarkdownUtils.countWords(plainText);
     }
 }
@@ -0,0 +1,332 @@
+package jimuanco.jimslog.domain.post;
+
+import jimuanco.jimslog.api.service.post.response.PostExportResponse;
+import jimuanco.jimslog.utils.MarkdownUtils;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static jimuanco.jimslog.domain.post.Post.EXCERPT_LENGTH;
+
+@RequiredArgsConstructor
+@Repository
+public class PostBulkRepository {
+
+    // 태그 이름은 공백을 한 칸으로 줄여 저장하므로 줄바꿈이 들어갈 수 없다.
+    private static final String TAG_SEPARATOR = "\n";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 요약이 비어있는 글을 id 순서로 limit 개수만큼 읽어 요약을 계산한다.
+     * content는 행 단위로 읽고 바로 버리므로 한 번에 한 글의 본문만 메모리에 올라간다.
+     */
+    public List<PostExcerptDto> findExcerptTargets(long lastId, int limit) {
+        String sql = "SELECT id, content FROM post WHERE id > ? AND excerpt IS NULL ORDER BY id LIMIT ?";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            String plainText = MarkdownUtils.toPlainText(rs.getString("content"));
+            return PostExcerptDto.builder()
+                    .id(rs.getLong("id"))
+                    .excerpt(MarkdownUtils.excerpt(plainText, EXCERPT_LENGTH))
+                    .wordCount(MarkdownUtils.countWords(plainText))
+                    .build();
+        }, lastId, limit);
+    }
+
+    @Transactional
+    public void updateExcerpts(List<PostExcerptDto> excerpts) {
+        String sql = "UPDATE post SET excerpt = ?, word_count = ? WHERE id = ?";
+
+        jdbcTemplate.batchUpdate(
+                sql,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PostExcerptDto excerpt = excerpts.get(i);
+                        ps.setString(1, excerpt.getExcerpt());
+                        ps.setInt(2, excerpt.getWordCount());
+                        ps.setLong(3, excerpt.getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return excerpts.size();
+                    }
+                }
+        );
+    }
+
+    /**
+     * 모아둔 조회수를 더한다. 다른 WAS의 반영과 락 순서가 엇갈리지 않도록 id 순서로 갱신한다.
+     */
+    @Transactional
+    public void increaseViewCounts(Map<Long, Long> viewCounts, int chunkSize) {
+        String sql = "UPDATE post SET view_count = view_count + ? WHERE id = ?";
+
+        List<Map.Entry<Long, Long>> increments = new ArrayList<>(viewCounts.entrySet());
+        increments.sort(Map.Entry.comparingByKey());
+
+        jdbcTemplate.batchUpdate(sql, increments, chunkSize, (ps, increment) -> {
+            ps.setLong(1, increment.getValue());
+            ps.setLong(2, increment.getKey());
+        });
+    }
+
+    /**
+     * 검색 결과 미리보기용으로 글마다 본문의 start(1부터, code point 기준) 위치부터 length 글자만 잘라 읽는다.
+     * 본문 전체를 읽지 않도록 DB에서 자른다.
+     */
+    public Map<Long, String> findContentWindows(Map<Long, Integer> starts, int length) {
+        if (starts.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id, SUBSTRING(content, CASE id");
+        starts.forEach((id, start) -> {
+            sql.append(" WHEN ? THEN ?");
+            args.add(id);
+            args.add(start);
+        });
+        sql.append(" END, ?) AS content_window FROM post WHERE id IN (")
+                .append(String.join(", ", Collections.nCopies(starts.size(), "?")))
+                .append(")");
+        args.add(length);
+        args.addAll(starts.keySet());
+
+        Map<Long, String> windows = new HashMap<>();
+        jdbcTemplate.query(sql.toString(),
+                rs -> {
+                    windows.put(rs.getLong("id"), rs.getString("content_window"));
+                },
+                args.toArray());
+        return windows;
+    }
+
+    /**
+     * 검색 색인용으로 id 순서로 limit 개수만큼 읽는다, 본문은 순수 텍스트로 변환해 반환한다.
+     */
+    public List<PostIndexDto> findIndexTargets(long lastId, int limit) {
+        String sql = "SELECT id, title, content, modified_date_time FROM post WHERE id > ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, indexDtoRowMapper(), lastId, limit);
+    }
+
+    /**
+     * since 이후 수정된 글만 id 순서로 limit 개수만큼 읽는다.
+     */
+    public List<PostIndexDto> findIndexTargetsModifiedSince(LocalDateTime since, long lastId, int limit) {
+        String sql = "SELECT id, title, content, modified_date_time FROM post " +
+                "WHERE modified_date_time >= ? AND id > ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, indexDtoRowMapper(), Timestamp.valueOf(since), lastId, limit);
+    }
+
+    public List<PostIndexDto> findIndexTargetsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = "SELECT id, title, content, modified_date_time FROM post WHERE id IN (" +
+                String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        return jdbcTemplate.query(sql, indexDtoRowMapper(), ids.toArray());
+    }
+
+    /**
+     * 글을 batch insert하고 생성된 id를 넣은 순서대로 반환한다.
+     * IDENTITY라 JPA로는 한 건씩 insert되므로 JdbcTemplate으로 모아서 보낸다. (MySQL은 rewriteBatchedStatements로 한 문장이 된다)
+     */
+    @Transactional
+    public List<Long> createPosts(List<PostImportDto> posts) {
+        String sql = "INSERT INTO post(title, content, excerpt, word_count, menu_id, created_date_time, modified_date_time) " +
+                "VALUES(?, ?, ?, ?, ?, ?, ?)";
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PostImportDto post = posts.get(i);
+                        Timestamp createdDateTime = Timestamp.valueOf(post.getCreatedDateTime());
+                        ps.setString(1, post.getTitle());
+                        ps.setString(2, post.getContent());
+                        ps.setString(3, post.getExcerpt());
+                        ps.setInt(4, post.getWordCount());
+                        ps.setObject(5, post.getMenuId(), Types.BIGINT);
+                        ps.setTimestamp(6, createdDateTime);
+                        ps.setTimestamp(7, createdDateTime);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return posts.size();
+                    }
+                },
+                keyHolder
+        );
+
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    @Transactional
+    public void createPostTags(Map<Long, List<Long>> tagIdsByPostId) {
+        String sql = "INSERT INTO post_tag(post_id, tag_id) VALUES(?, ?)";
+
+        List<long[]> postTags = new ArrayList<>();
+        tagIdsByPostId.forEach((postId, tagIds) -> tagIds.forEach(tagId -> postTags.add(new long[]{postId, tagId})));
+
+        jdbcTemplate.batchUpdate(
+                sql,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, postTags.get(i)[0]);
+                        ps.setLong(2, postTags.get(i)[1]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return postTags.size();
+                    }
+                }
+        );
+    }
+
+    /**
+     * 모든 글을 id 순서로 한 행씩 읽어 consumer에 넘긴다.
+     * 결과를 리스트로 모으지 않고 흘려받으므로 글이 많아도 메모리 사용량이 일정하다.
+     * MySQL(Connector/J)은 이 statement에만 fetchSize를 Integer.MIN_VALUE로 줘서 한 행씩 받고,
+     * 다른 DB는 fetchSize만큼씩 가져온다. 다 읽을 때까지 커넥션을 점유하므로 consumer에서 다른 쿼리를 하면 안된다.
+     */
+    public void streamExportTargets(int fetchSize, Consumer<PostExportResponse> consumer) {
+        String sql = "SELECT p.id, p.title, p.content, p.menu_id, m.name AS menu_name, p.view_count, " +
+                "p.created_date_time, p.modified_date_time, " +
+                "(SELECT GROUP_CONCAT(t.name ORDER BY pt.id SEPARATOR '" + TAG_SEPARATOR + "') " +
+                "FROM post_tag pt JOIN tag t ON t.id = pt.tag_id WHERE pt.post_id = p.id) AS tags " +
+                "FROM post p LEFT JOIN menu m ON m.id = p.menu_id ORDER BY p.id";
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(isMySql(con) ? Integer.MIN_VALUE : fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long menuId = rs.getLong("menu_id");
+            boolean hasMenu = !rs.wasNull();
+            String tags = rs.getString("tags");
+            consumer.accept(PostExportResponse.builder()
+                    .id(rs.getLong("id"))
+                    .title(rs.getString("title"))
+                    .content(rs.getString("content"))
+                    .menuId(hasMenu ? menuId : null)
+                    .menu(rs.getString("menu_name"))
+                    .tags(tags != null ? List.of(tags.split(TAG_SEPARATOR)) : List.of())
+                    .viewCount(rs.getLong("view_count"))
+                    .createdDateTime(toLocalDateTime(rs.getTimestamp("created_date_time")))
+                    .modifiedDateTime(toLocalDateTime(rs.getTimestamp("modified_date_time")))
+                    .build());
+        });
+    }
+
+    private boolean isMySql(Connection con) throws SQLException {
+        return "MySQL".equals(con.getMetaData().getDatabaseProductName());
+    }
+
+    public List<Long> findAllIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM post", Long.class);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private RowMapper<PostIndexDto> indexDtoRowMapper() {
+        return (rs, rowNum) -> {
+            Timestamp modifiedDateTime = rs.getTimestamp("modified_date_time");
+            String content = rs.getString("content");
+            return PostIndexDto.builder()
+                    .id(rs.getLong("id"))
+                    .title(rs.getString("title"))
+                    .content(content)
+                    .plainContent(MarkdownUtils.toPlainText(content))
+                    .modifiedDateTime(modifiedDateTime != null ? modifiedDateTime.toLocalDateTime() : null)
+                    .build();
+        };
+    }
+
+    @Getter
+    public static class PostExcerptDto {
+        private Long id;
+        private String excerpt;
+        private int wordCount;
+
+        @Builder
+        public PostExcerptDto(Long id, String excerpt, int wordCount) {
+            this.id = id;
+            this.excerpt = excerpt;
+            this.wordCount = wordCount;
+        }
+    }
+
+    @Getter
+    public static class PostImportDto {
+        private String title;
+        private String content;
+        private String excerpt;
+        private int wordCount;
+        private Long menuId;
+        private LocalDateTime createdDateTime;
+
+        @Builder
+        public PostImportDto(String title, String content, Long menuId, LocalDateTime createdDateTime) {
+            String plainText = MarkdownUtils.toPlainText(content);
+            this.title = title;
+            this.content = content;
+            this.excerpt = MarkdownUtils.excerpt(plainText, EXCERPT_LENGTH);
+            this.wordCount = MarkdownUtils.countWords(plainText);
+            this.menuId = menuId;
+            this.createdDateTime = createdDateTime;
+        }
+    }
+
+    @Getter
+    public static class PostIndexDto {
+        private Long id;
+        private String title;
+        private String content;
+        private String plainContent;
+        private LocalDateTime modifiedDateTime;
+
+        @Builder
+        public PostIndexDto(Long id, String title, String content, String plainContent,
+                            LocalDateTime modifiedDateTime) {
+            this.id = id;
+            this.title = title;
+            this.content = content;
+            this.plainContent = plainContent;
+            this.modifiedDateTime = modifiedDateTime;
+        }
+    }
+}
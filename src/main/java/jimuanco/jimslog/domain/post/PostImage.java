@@ -1,19 +1,30 @@
 package jimuanco.jimslog.domain.post;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import jimuanco.jimslog.domain.BaseEntity;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static jakarta.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
 
+/**
+ * 글에서 쓰는 이미지, 글 하나가 S3 객체 하나를 참조할 때마다 한 행이 생긴다.
+ * 같은 내용의 이미지는 내용 해시로 만든 같은 fileName을 여러 행이 나눠 쓰고, 참조하는 행이 모두 없어져야 S3에서 지운다.
+ * postId가 null인 행은 업로드만 하고 아직 글에 붙지 않은 이미지다.
+ */
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_post_image_file_name_post", columnList = "file_name, post_id"),
+        @Index(name = "idx_post_image_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_post_image_post_id", columnList = "post_id")
+})
 public class PostImage extends BaseEntity {
 
     @Id
@@ -24,10 +35,49 @@ public class PostImage extends BaseEntity {
 
     private String fileName;
 
+    // 원본 내용의 SHA-256 (hex)
+    @Column(length = 64)
+    private String contentHash;
+
+    // 원본 너비, 이미지로 읽을 수 없는 파일이면 null
+    private Integer width;
+
+    // 리사이즈한 이미지 파일 이름들, 쉼표로 구분한다. 다 만든 뒤에 기록한다.
+    @Column(length = 1000)
+    private String variants;
+
     @Builder
-    public PostImage(Long postId, String fileName) {
+    public PostImage(Long postId, String fileName, String contentHash, Integer width, List<String> variantFileNames) {
         this.postId = postId;
         this.fileName = fileName;
+        this.contentHash = contentHash;
+        this.width = width;
+        this.variants = joinVariantFileNames(variantFileNames);
+    }
+
+    public static String joinVariantFileNames(List<String> variantFileNames) {
+        return (variantFileNames == null || variantFileNames.isEmpty()) ? null : String.join(",", variantFileNames);
+    }
+
+    public List<String> getVariantFileNames() {
+        return (variants == null) ? List.of() : List.of(variants.split(","));
+    }
+
+    /**
+     * S3에 올린 원본과 리사이즈한 이미지 파일 이름 전부
+     */
+    public List<String> getAllFileNames() {
+        List<String> fileNames = new ArrayList<>();
+        fileNames.add(fileName);
+        fileNames.addAll(getVariantFileNames());
+        return fileNames;
+    }
+
+    /**
+     * 같은 S3 객체를 postId 글에서 참조하는 행
+     */
+    public PostImage referenceFrom(Long postId) {
+        return new PostImage(postId, fileName, contentHash, width, getVariantFileNames());
     }
 
     public void updatePostId(Long postId) {
@@ -5,18 +5,52 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostImageRepository extends JpaRepository<PostImage, Long> {
 
-    Optional<PostImage> findByFileName(String fileName);
+    /**
+     * 아직 글에 붙지 않은 행을 한번에 postId 글에 붙인다.
+     * 영속성 컨텍스트에 남아 있는 PostImage는 바뀐 postId를 모르므로 비운다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PostImage p set p.postId = :postId where p.fileName in :fileNames and p.postId is null")
+    int attachAllToPost(@Param("fileNames") Collection<String> fileNames, @Param("postId") Long postId);
 
-    @Modifying()
-    @Query("delete from PostImage p where p.fileName in :fileName")
-    void deleteAllByFileNameInQuery(@Param("fileName") List<String> fileName);
+    @Query("select distinct p.fileName from PostImage p where p.postId = :postId and p.fileName in :fileNames")
+    List<String> findAttachedFileNames(@Param("fileNames") Collection<String> fileNames, @Param("postId") Long postId);
+
+    List<PostImage> findAllByFileNameIn(Collection<String> fileNames);
+
+    /**
+     * 리사이즈한 이미지를 다 만든 뒤 같은 원본을 참조하는 모든 행에 기록한다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update PostImage p set p.variants = :variants where p.fileName = :fileName")
+    int updateVariants(@Param("fileName") String fileName, @Param("variants") String variants);
+
+    Optional<PostImage> findFirstByContentHash(String contentHash);
+
+    Optional<PostImage> findFirstByFileName(String fileName);
+
+    /**
+     * 아직 참조하는 행이 남아 있는 fileName
+     */
+    @Query("select distinct p.fileName from PostImage p where p.fileName in :fileNames")
+    List<String> findReferencedFileNames(@Param("fileNames") Collection<String> fileNames);
+
+    /**
+     * postId 글이 참조하는 행과 아직 글에 붙지 않은 행
+     */
+    @Query("select p from PostImage p where p.fileName in :fileNames and (p.postId = :postId or p.postId is null)")
+    List<PostImage> findAllByFileNameInForPost(@Param("fileNames") List<String> fileNames,
+                                               @Param("postId") Long postId);
 
     List<PostImage> findAllByPostId(Long postId);
 
@@ -1,8 +1,24 @@
 package jimuanco.jimslog.domain.post;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    @Query("select p.menu.id from Post p where p.id = :id")
+    Optional<Long> findMenuIdById(@Param("id") Long id);
+
+    /**
+     * 글 내용은 그대로이고 태그만 바뀌었을 때 조건부 요청(ETag)이 바뀌도록 수정 시각만 갱신한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Post p set p.modifiedDateTime = :modifiedDateTime where p.id = :id")
+    void updateModifiedDateTime(@Param("id") Long id, @Param("modifiedDateTime") LocalDateTime modifiedDateTime);
 }
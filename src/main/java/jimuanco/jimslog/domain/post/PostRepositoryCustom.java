@@ -1,10 +1,19 @@
 package jimuanco.jimslog.domain.post;
 
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostLinkResponse;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
 
 import java.util.List;
 
 public interface PostRepositoryCustom {
 
-    List<Post> getPostList(PostSearchServiceRequest postSearchServiceRequest, List<Long> menuIdList);
+    List<PostSummaryResponse> getPostList(PostSearchServiceRequest postSearchServiceRequest, List<Long> menuIdList,
+                                          Long tagId);
+
+    List<PostSummaryResponse> getPostSummaries(List<Long> postIds);
+
+    PostLinkResponse findPreviousPost(Long postId, List<Long> menuIdList);
+
+    PostLinkResponse findNextPost(Long postId, List<Long> menuIdList);
 }
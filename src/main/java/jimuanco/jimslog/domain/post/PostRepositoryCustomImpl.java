@@ -1,29 +1,123 @@
 package jimuanco.jimslog.domain.post;
 
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostLinkResponse;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collections;
 import java.util.List;
 
 import static jimuanco.jimslog.domain.post.QPost.post;
+import static jimuanco.jimslog.domain.tag.QPostTag.postTag;
 
 @RequiredArgsConstructor
 public class PostRepositoryCustomImpl implements PostRepositoryCustom{
 
     private final JPAQueryFactory jpaQueryFactory;
     @Override
-    public List<Post> getPostList(PostSearchServiceRequest request, List<Long> menuIdList) {
-        return jpaQueryFactory.selectFrom(post)
-                .where(getMenuId(request, menuIdList))
-                .limit(request.getSize())
-                .offset(request.getOffset())
-                .orderBy(post.id.desc())
+    public List<PostSummaryResponse> getPostList(PostSearchServiceRequest request, List<Long> menuIdList,
+                                                 Long tagId) {
+        // 태그로 찾을 때는 (tag_id, post_id desc) 인덱스의 post_id로 정렬/커서 탐색하고 글은 PK로 붙인다.
+        NumberPath<Long> seekId = (tagId != null) ? postTag.post.id : post.id;
+
+        // 목록에서는 LONGTEXT인 content 대신 글 작성 시점에 저장해 둔 요약만 가져온다.
+        JPAQuery<PostSummaryResponse> query = jpaQueryFactory
+                .select(postSummary())
+                .from(post)
+                .where(
+                        getMenuId(request, menuIdList),
+                        idLessThan(seekId, request.getAfter()),
+                        idGreaterThan(seekId, request.getBefore())
+                )
+                .limit(request.getLimit());
+
+        if (tagId != null) {
+            query.join(postTag).on(postTag.post.id.eq(post.id))
+                    .where(postTag.tag.id.eq(tagId));
+        }
+
+        // 이전 페이지는 가까운 글부터 오름차순으로 찾은 뒤 다시 내림차순으로 뒤집는다.
+        if (request.getBefore() != null) {
+            List<PostSummaryResponse> posts = query.orderBy(seekId.asc()).fetch();
+            Collections.reverse(posts);
+            return posts;
+        }
+
+        if (!request.isCursorMode()) {
+            query.offset(request.getOffset());
+        }
+
+        return query.orderBy(seekId.desc()).fetch();
+    }
+
+    @Override
+    public List<PostSummaryResponse> getPostSummaries(List<Long> postIds) {
+        return jpaQueryFactory
+                .select(postSummary())
+                .from(post)
+                .where(post.id.in(postIds))
                 .fetch();
     }
 
+    /**
+     * menuIdList가 null이면 전체 글에서 찾는다.
+     * PK(또는 menu_id 인덱스 뒤에 붙는 PK)를 따라 한 행만 읽는 seek 쿼리라 글이 많아져도 비용이 같다.
+     */
+    @Override
+    public PostLinkResponse findPreviousPost(Long postId, List<Long> menuIdList) {
+        return jpaQueryFactory
+                .select(postLink())
+                .from(post)
+                .where(post.id.lt(postId), menuIdIn(menuIdList))
+                .orderBy(post.id.desc())
+                .fetchFirst();
+    }
+
+    @Override
+    public PostLinkResponse findNextPost(Long postId, List<Long> menuIdList) {
+        return jpaQueryFactory
+                .select(postLink())
+                .from(post)
+                .where(post.id.gt(postId), menuIdIn(menuIdList))
+                .orderBy(post.id.asc())
+                .fetchFirst();
+    }
+
+    private ConstructorExpression<PostLinkResponse> postLink() {
+        return Projections.constructor(PostLinkResponse.class, post.id, post.title);
+    }
+
+    private ConstructorExpression<PostSummaryResponse> postSummary() {
+        return Projections.constructor(PostSummaryResponse.class,
+                post.id,
+                post.title,
+                post.createdDateTime,
+                post.menu.id,
+                post.excerpt,
+                post.wordCount
+        );
+    }
+
     private BooleanExpression getMenuId(PostSearchServiceRequest request, List<Long> menuIdList) {
         return (request.getMenuId() != 0) ? post.menu.id.in(menuIdList) : null;
     }
+
+    private BooleanExpression menuIdIn(List<Long> menuIdList) {
+        return (menuIdList != null) ? post.menu.id.in(menuIdList) : null;
+    }
+
+    private BooleanExpression idLessThan(NumberPath<Long> id, Long after) {
+        return (after != null) ? id.lt(after) : null;
+    }
+
+    private BooleanExpression idGreaterThan(NumberPath<Long> id, Long before) {
+        return (before != null) ? id.gt(before) : null;
+    }
 }
@@ -0,0 +1,41 @@
+package jimuanco.jimslog.domain.tag;
+
+import jakarta.persistence.*;
+import jimuanco.jimslog.domain.post.Post;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import static jakarta.persistence.FetchType.LAZY;
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 글-태그 연결
+ * 태그별 글 목록은 (tag_id, post_id desc) 인덱스만 읽고 post_id 커서로 이어서 찾는다.
+ */
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_tag_post_tag", columnNames = {"post_id", "tag_id"}),
+        indexes = @Index(name = "idx_post_tag_tag_post", columnList = "tag_id, post_id desc")
+)
+public class PostTag {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = LAZY, optional = false)
+    private Post post;
+
+    @ManyToOne(fetch = LAZY, optional = false)
+    private Tag tag;
+
+    @Builder
+    public PostTag(Post post, Tag tag) {
+        this.post = post;
+        this.tag = tag;
+    }
+}
@@ -0,0 +1,20 @@
+package jimuanco.jimslog.domain.tag;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostTagRepository extends JpaRepository<PostTag, Long> {
+
+    @Query("select pt from PostTag pt join fetch pt.tag where pt.post.id = :postId order by pt.id")
+    List<PostTag> findAllByPostId(@Param("postId") Long postId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from PostTag pt where pt.post.id = :postId")
+    void deleteAllByPostId(@Param("postId") Long postId);
+}
@@ -0,0 +1,47 @@
+package jimuanco.jimslog.domain.tag;
+
+import jakarta.persistence.*;
+import jimuanco.jimslog.domain.BaseEntity;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+public class Tag extends BaseEntity {
+
+    public static final int NAME_LENGTH = 30;
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Column(length = NAME_LENGTH, nullable = false, unique = true)
+    private String name;
+
+    @Builder
+    public Tag(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 앞뒤 공백과 앞의 '#'을 떼고, 사이의 공백은 하나로 줄인다.
+     * MySQL 기본 collation은 대소문자를 구분하지 않으므로 영문은 소문자로 맞춘다.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String normalized = name.strip();
+        while (normalized.startsWith("#")) {
+            normalized = normalized.substring(1).strip();
+        }
+        return normalized.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,16 @@
+package jimuanco.jimslog.domain.tag;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
+
+    Optional<Tag> findByName(String name);
+
+    List<Tag> findAllByNameIn(Collection<String> names);
+}
@@ -0,0 +1,10 @@
+package jimuanco.jimslog.domain.tag;
+
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+
+import java.util.List;
+
+public interface TagRepositoryCustom {
+
+    List<TagResponse> getTagCloud();
+}
@@ -0,0 +1,34 @@
+package jimuanco.jimslog.domain.tag;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+import static jimuanco.jimslog.domain.tag.QPostTag.postTag;
+import static jimuanco.jimslog.domain.tag.QTag.tag;
+
+@RequiredArgsConstructor
+public class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    /**
+     * 글이 달린 태그만 글 수가 많은 순서로 조회한다.
+     */
+    @Override
+    public List<TagResponse> getTagCloud() {
+        return jpaQueryFactory
+                .select(Projections.constructor(TagResponse.class,
+                        tag.name,
+                        postTag.count().intValue()
+                ))
+                .from(postTag)
+                .join(postTag.tag, tag)
+                .groupBy(tag.id, tag.name)
+                .orderBy(postTag.count().desc(), tag.name.asc())
+                .fetch();
+    }
+}
@@ -0,0 +1,15 @@
+package jimuanco.jimslog.exception;
+
+public class InvalidCursor extends MyBlogException {
+
+    private static final String MESSAGE = "유효하지 않은 커서입니다.";
+
+    public InvalidCursor() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
+    }
+}
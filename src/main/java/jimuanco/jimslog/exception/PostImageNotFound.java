@@ -0,0 +1,15 @@
+package jimuanco.jimslog.exception;
+
+public class PostImageNotFound extends MyBlogException {
+
+    private static final String MESSAGE = "존재하지 않는 이미지입니다.";
+
+    public PostImageNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,15 @@
+package jimuanco.jimslog.exception;
+
+public class TagNotFound extends MyBlogException {
+
+    private static final String MESSAGE = "존재하지 않는 태그입니다.";
+
+    public TagNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
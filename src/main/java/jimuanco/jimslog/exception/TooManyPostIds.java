@@ -0,0 +1,15 @@
+package jimuanco.jimslog.exception;
+
+public class TooManyPostIds extends MyBlogException {
+
+    private static final String MESSAGE = "한번에 조회할 수 있는 글 개수를 넘었습니다.";
+
+    public TooManyPostIds() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
+    }
+}
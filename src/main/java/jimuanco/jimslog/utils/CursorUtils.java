@@ -0,0 +1,43 @@
+package jimuanco.jimslog.utils;
+
+import jimuanco.jimslog.exception.InvalidCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class CursorUtils {
+
+    private static final String PREFIX = "id:";
+
+    private CursorUtils() {}
+
+    /**
+     * 마지막으로 조회한 글 ID를 클라이언트에 내려줄 커서 문자열로 변환
+     */
+    public static String encode(Long id) {
+        if (id == null) {
+            return null;
+        }
+        byte[] bytes = (PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 커서 문자열을 글 ID로 변환, 커서가 없으면 null
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidCursor();
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursor();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package jimuanco.jimslog.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+
+public final class EtagUtils {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int ETAG_BYTES = 16;
+
+    private EtagUtils() {}
+
+    /**
+     * 값들을 구분자로 이어 SHA-256으로 해시한 strong ETag, 값이 하나라도 바뀌면 ETag도 바뀐다.
+     */
+    public static String of(List<?> values) {
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            sb.append(value).append(SEPARATOR);
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * If-None-Match / If-Modified-Since를 확인해 변경이 없으면 304로 응답하도록 표시하고 true를 반환한다.
+     * Spring Security 기본 헤더(no-store)가 붙지 않도록 Cache-Control: no-cache를 먼저 지정해 매번 재검증하게 한다.
+     */
+    public static boolean checkNotModified(ServletWebRequest webRequest, String etag, LocalDateTime lastModified) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        if (lastModified == null) {
+            return webRequest.checkNotModified(etag);
+        }
+        long lastModifiedMillis = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return webRequest.checkNotModified(etag, lastModifiedMillis);
+    }
+
+    public static boolean checkNotModified(ServletWebRequest webRequest, String etag) {
+        return checkNotModified(webRequest, etag, null);
+    }
+}
@@ -0,0 +1,61 @@
+package jimuanco.jimslog.utils;
+
+import java.util.regex.Pattern;
+
+public final class MarkdownUtils {
+
+    private static final Pattern CODE_FENCE = Pattern.compile("(?m)^\\s*(```|~~~).*$");
+    private static final Pattern IMAGE = Pattern.compile("!\\[[^\\]]*]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&(nbsp|amp|lt|gt|quot|#39);");
+    private static final Pattern LINE_PREFIX = Pattern.compile("(?m)^\\s*(#{1,6}\\s+|>+\\s?|[-*+]\\s+|\\d+\\.\\s+)");
+    private static final Pattern EMPHASIS = Pattern.compile("(\\*{1,3}|_{2,3}|~~|`+)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private MarkdownUtils() {}
+
+    /**
+     * Markdown, HTML 문법을 걷어낸 순수 텍스트로 변환
+     */
+    public static String toPlainText(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+
+        String text = CODE_FENCE.matcher(markdown).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll(" ");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = HTML_ENTITY.matcher(text).replaceAll(" ");
+        text = LINE_PREFIX.matcher(text).replaceAll("");
+        text = EMPHASIS.matcher(text).replaceAll("");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * 순수 텍스트를 최대 길이만큼 자른 요약문
+     */
+    public static String excerpt(String plainText, int maxLength) {
+        if (plainText.length() <= maxLength) {
+            return plainText;
+        }
+
+        int end = maxLength;
+        // 서로게이트 쌍(이모지 등)이 잘리지 않도록 한다.
+        if (Character.isHighSurrogate(plainText.charAt(end - 1))) {
+            end--;
+        }
+        return plainText.substring(0, end);
+    }
+
+    /**
+     * 공백 기준 단어(어절) 수
+     */
+    public static int countWords(String plainText) {
+        if (plainText.isBlank()) {
+            return 0;
+        }
+        return WHITESPACE.split(plainText.trim()).length;
+    }
+}
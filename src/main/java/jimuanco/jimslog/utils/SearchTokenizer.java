@@ -0,0 +1,112 @@
+package jimuanco.jimslog.utils;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.Character.UnicodeScript.*;
+
+/**
+ * 검색용 토크나이저
+ * 한글/한자/일본어 구간은 형태소 분석 없이 2글자씩 겹쳐 자르고(bigram), 영문/숫자 구간은 단어 단위로 자른다.
+ * offset은 입력 문자열 기준이다.
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {}
+
+    public static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+
+            boolean cjk = isCjk(codePoint);
+            int start = i;
+            List<Integer> starts = new ArrayList<>();
+            while (i < text.length()) {
+                int cp = text.codePointAt(i);
+                if (!Character.isLetterOrDigit(cp) || isCjk(cp) != cjk) {
+                    break;
+                }
+                starts.add(i);
+                i += Character.charCount(cp);
+            }
+
+            if (!cjk) {
+                tokens.add(new Token(lowerCase(text.substring(start, i)), start, i));
+            } else if (starts.size() == 1) {
+                tokens.add(new Token(text.substring(start, i), start, i));
+            } else {
+                for (int j = 0; j + 1 < starts.size(); j++) {
+                    int end = (j + 2 < starts.size()) ? starts.get(j + 2) : i;
+                    tokens.add(new Token(text.substring(starts.get(j), end), starts.get(j), end));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    public static List<String> terms(String text) {
+        return tokenize(text).stream()
+                .map(Token::getTerm)
+                .toList();
+    }
+
+    /**
+     * text에서 terms에 해당하는 구간을 찾는다, bigram처럼 겹치거나 붙어있는 구간은 하나로 합친다.
+     */
+    public static List<Token> highlight(String text, Set<String> terms) {
+        List<Token> highlights = new ArrayList<>();
+        for (Token token : tokenize(text)) {
+            if (!terms.contains(token.getTerm())) {
+                continue;
+            }
+
+            Token last = highlights.isEmpty() ? null : highlights.get(highlights.size() - 1);
+            if (last != null && token.getStartOffset() <= last.getEndOffset()) {
+                int end = Math.max(last.getEndOffset(), token.getEndOffset());
+                highlights.set(highlights.size() - 1,
+                        new Token(text.substring(last.getStartOffset(), end), last.getStartOffset(), end));
+            } else {
+                highlights.add(new Token(text.substring(token.getStartOffset(), token.getEndOffset()),
+                        token.getStartOffset(), token.getEndOffset()));
+            }
+        }
+        return highlights;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == HANGUL || script == HAN || script == HIRAGANA || script == KATAKANA;
+    }
+
+    private static String lowerCase(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
+        word.codePoints().forEach(cp -> sb.appendCodePoint(Character.toLowerCase(cp)));
+        return sb.toString();
+    }
+
+    @Getter
+    public static class Token {
+        private final String term;
+        private final int startOffset;
+        private final int endOffset;
+
+        public Token(String term, int startOffset, int endOffset) {
+            this.term = term;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+    }
+}
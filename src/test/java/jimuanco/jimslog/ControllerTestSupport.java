@@ -4,10 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jimuanco.jimslog.api.controller.auth.AuthController;
 import jimuanco.jimslog.api.controller.menu.MenuController;
 import jimuanco.jimslog.api.controller.post.PostController;
+import jimuanco.jimslog.api.controller.tag.TagController;
 import jimuanco.jimslog.api.service.auth.AuthService;
 import jimuanco.jimslog.api.service.menu.MenuService;
+import jimuanco.jimslog.api.service.post.PostBodyCache;
 import jimuanco.jimslog.api.service.post.PostService;
 import jimuanco.jimslog.api.service.post.S3Uploader;
+import jimuanco.jimslog.api.service.post.view.PostViewCounter;
+import jimuanco.jimslog.api.service.tag.TagService;
 import jimuanco.jimslog.config.SecurityConfig;
 import jimuanco.jimslog.utils.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +24,8 @@ import org.springframework.test.web.servlet.MockMvc;
 @WebMvcTest(controllers = {
         AuthController.class,
         PostController.class,
-        MenuController.class
+        MenuController.class,
+        TagController.class
 })
 public abstract class ControllerTestSupport {
 
@@ -41,4 +46,13 @@ public abstract class ControllerTestSupport {
 
     @MockBean
     protected S3Uploader s3Uploader;
+
+    @MockBean
+    protected PostBodyCache postBodyCache;
+
+    @MockBean
+    protected TagService tagService;
+
+    @MockBean
+    protected PostViewCounter postViewCounter;
 }
@@ -4,6 +4,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
-@SpringBootTest(properties = "schedules.post-images.limit-time = 0")
+@SpringBootTest(properties = {
+        "schedules.post-images.limit-time = 0",
+        "jimslog.search.index-dir = ${java.io.tmpdir}/jimslog-test/search-index-${random.uuid}",
+        "jimslog.post-events.coalesce-window = 1h",
+        "jimslog.post-views.redis-flush-interval = PT1H",
+        "jimslog.post-views.db-flush-interval = PT1H",
+        "jimslog.s3.delete.interval = PT1H"
+})
 public class IntegrationTestSupport {
 }
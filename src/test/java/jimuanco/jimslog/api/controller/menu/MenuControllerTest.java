@@ -11,12 +11,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.BDDMockito.given;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class MenuControllerTest extends ControllerTestSupport {
 
@@ -242,4 +243,30 @@ class MenuControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.data[2].children.length()").value(0));
     }
 
-}
\ No newline at end of file
+    @DisplayName("전체 메뉴를 조회할때 ETag가 같으면 본문 없이 304를 반환한다.")
+    @Test
+    void getMenusNotModified() throws Exception {
+        // given
+        MenuResponse mainMenu1 = MenuResponse.builder()
+                .id(1L)
+                .name("1. 메뉴")
+                .listOrder(1)
+                .postsCount(3)
+                .children(new ArrayList<>())
+                .build();
+
+        given(menuService.getMenus())
+                .willReturn(List.of(mainMenu1));
+
+        String etag = mockMvc.perform(get("/menus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+
+        // when // then
+        mockMvc.perform(get("/menus")
+                        .header(IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
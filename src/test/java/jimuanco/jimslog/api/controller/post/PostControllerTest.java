@@ -4,26 +4,51 @@ import jimuanco.jimslog.ControllerTestSupport;
 import jimuanco.jimslog.api.controller.post.request.PostCreateRequest;
 import jimuanco.jimslog.api.controller.post.request.PostEditRequest;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.request.PostTextSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse.Variant;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse;
+import jimuanco.jimslog.api.service.post.response.PostLinkResponse;
+import jimuanco.jimslog.api.service.post.response.PostNavigationResponse;
 import jimuanco.jimslog.api.service.post.response.PostResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse.Highlight;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
+import jimuanco.jimslog.utils.CursorUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class PostControllerTest extends ControllerTestSupport {
 
@@ -115,6 +140,28 @@ class PostControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.validation.title").value("제목을 입력해주세요."));
     }
 
+    @WithMockUser(username = "jim@gmail.com", roles = {"ADMIN"})
+    @DisplayName("새로운 글을 등록할 때 태그는 10개까지 입력할 수 있다.")
+    @Test
+    void createPostWithTooManyTags() throws Exception {
+        // given
+        PostCreateRequest request = PostCreateRequest.builder()
+                .title("글제목 입니다.")
+                .content("글내용 입니다.")
+                .tags(IntStream.rangeClosed(1, 11).mapToObj(i -> "태그" + i).toList())
+                .build();
+        String json = objectMapper.writeValueAsString(request);
+
+        // when // then
+        mockMvc.perform(post("/posts")
+                        .content(json)
+                        .contentType(APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.validation.tags").value("태그는 10개까지 입력할 수 있습니다."));
+    }
+
     @DisplayName("새로운 글을 등록할 때 내용은 필수값이다.")
     @Test
     void createPostWithoutContent() throws Exception {
@@ -155,6 +202,26 @@ class PostControllerTest extends ControllerTestSupport {
                 .andExpect(status().isOk());
     }
 
+    @DisplayName("업로드한 이미지 URL로 만들어진 줄인 이미지를 조회한다.")
+    @Test
+    void getPostImage() throws Exception {
+        // given
+        given(postService.getPostImage(anyString()))
+                .willReturn(PostImageResponse.builder()
+                        .url("S3 Image URL")
+                        .width(1000)
+                        .variants(List.of(new Variant(320, "S3 Image URL_w320.jpg")))
+                        .build());
+
+        // when // then
+        mockMvc.perform(get("/posts/image")
+                        .param("url", "S3 Image URL"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.variants[0].width").value(320))
+                .andExpect(jsonPath("$.data.srcset").value("S3 Image URL_w320.jpg 320w, S3 Image URL 1000w"));
+    }
+
     @DisplayName("글에 이미지를 등록할때 인증되지 않은 사용자는 등록할 수 없다.")
     @Test
     void uploadPostImageForUnauthenticatedUser() throws Exception {
@@ -221,6 +288,216 @@ class PostControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.data.createdDateTime").value(createdDateTime.toString()));
     }
 
+    @DisplayName("글을 1개 조회할때 User-Agent가 같아도 클라이언트 주소가 다르면 다른 조회자로 센다.")
+    @Test
+    void getPostFromDifferentAddresses() throws Exception {
+        // given
+        Long postId = 1L;
+
+        given(postService.getPost(anyLong()))
+                .willReturn(PostResponse.builder()
+                        .id(postId)
+                        .title("글제목 입니다.")
+                        .content("글내용 입니다.")
+                        .build()
+                );
+
+        // when
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .header(USER_AGENT, "Mozilla/5.0")
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.1");
+                            return request;
+                        }))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .header(USER_AGENT, "Mozilla/5.0")
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.2");
+                            return request;
+                        }))
+                .andExpect(status().isOk());
+
+        // then
+        verify(postViewCounter).increase(postId, "203.0.113.1|Mozilla/5.0");
+        verify(postViewCounter).increase(postId, "203.0.113.2|Mozilla/5.0");
+    }
+
+    @DisplayName("글을 1개 조회할때 이전/다음 글을 함께 받고, 이전/다음 글이 바뀌면 ETag도 바뀐다.")
+    @Test
+    void getPostWithNavigation() throws Exception {
+        // given
+        Long postId = 2L;
+
+        given(postService.getPost(anyLong()))
+                .willReturn(PostResponse.builder()
+                        .id(postId)
+                        .title("글제목 입니다.")
+                        .content("글내용 입니다.")
+                        .modifiedDateTime(LocalDateTime.of(2024, 1, 18, 23, 30, 30))
+                        .build()
+                );
+        given(postService.getPostNavigation(anyLong()))
+                .willReturn(PostNavigationResponse.builder()
+                        .previous(new PostLinkResponse(1L, "이전 글제목"))
+                        .build()
+                );
+
+        String etag = mockMvc.perform(get("/posts/{postId}", postId)
+                        .param("navigation", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.navigation.previous.id").value(1L))
+                .andExpect(jsonPath("$.data.navigation.previous.title").value("이전 글제목"))
+                .andExpect(jsonPath("$.data.navigation.next").isEmpty())
+                .andReturn().getResponse().getHeader(ETAG);
+
+        given(postService.getPostNavigation(anyLong()))
+                .willReturn(PostNavigationResponse.builder()
+                        .previous(new PostLinkResponse(1L, "이전 글제목"))
+                        .next(new PostLinkResponse(3L, "다음 글제목"))
+                        .build()
+                );
+
+        // when // then
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .param("navigation", "true")
+                        .header(IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, not(etag)))
+                .andExpect(jsonPath("$.data.navigation.next.id").value(3L));
+    }
+
+    @DisplayName("글을 1개 조회할때 ETag가 같으면 본문 없이 304를 반환하고, 검증자는 캐시된 글에서 꺼낸다.")
+    @Test
+    void getPostNotModified() throws Exception {
+        // given
+        Long postId = 1L;
+
+        LocalDateTime modifiedDateTime =
+                LocalDateTime.of(2024, 1, 18, 23, 30, 30);
+
+        given(postService.getPost(anyLong()))
+                .willReturn(PostResponse.builder()
+                        .id(postId)
+                        .title("글제목 입니다.")
+                        .content("글내용 입니다.")
+                        .modifiedDateTime(modifiedDateTime)
+                        .build()
+                );
+
+        String etag = mockMvc.perform(get("/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ETAG))
+                .andExpect(header().exists(LAST_MODIFIED))
+                .andExpect(header().string(CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(ETAG);
+
+        // when // then
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .header(IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(postService, times(2)).getPost(postId);
+        verifyNoMoreInteractions(postService);
+    }
+
+    @DisplayName("gzip을 받을 수 있는 클라이언트에게는 캐시된 압축 본문을 그대로 반환한다.")
+    @Test
+    void getPostGzipped() throws Exception {
+        // given
+        Long postId = 1L;
+        byte[] gzipped = {31, -117, 8, 0};
+
+        given(postService.getPost(anyLong()))
+                .willReturn(PostResponse.builder()
+                        .id(postId)
+                        .modifiedDateTime(LocalDateTime.of(2024, 1, 18, 23, 30, 30))
+                        .build()
+                );
+        given(postBodyCache.getGzipped(anyLong(), anyString(), any()))
+                .willReturn(gzipped);
+
+        // when // then
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .header(ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(VARY, ACCEPT_ENCODING))
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().bytes(gzipped));
+    }
+
+    @DisplayName("gzip을 받을 수 없는 클라이언트에게는 압축하지 않은 본문을 반환한다.")
+    @Test
+    void getPostWithoutGzip() throws Exception {
+        // given
+        Long postId = 1L;
+
+        given(postService.getPost(anyLong()))
+                .willReturn(PostResponse.builder()
+                        .id(postId)
+                        .title("글제목 입니다.")
+                        .content("글내용 입니다.")
+                        .build()
+                );
+
+        // when // then
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .header(ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CONTENT_ENCODING))
+                .andExpect(jsonPath("$.data.title").value("글제목 입니다."));
+
+        verify(postBodyCache, never()).getGzipped(anyLong(), anyString(), any());
+    }
+
+    @DisplayName("글을 여러개 조회할때 목록이 바뀌지 않았으면 304를, 바뀌었으면 200을 반환한다.")
+    @Test
+    void getPostListNotModified() throws Exception {
+        // given
+        LocalDateTime createdDateTime =
+                LocalDateTime.of(2024, 1, 18, 23, 30, 30);
+
+        PostSummaryResponse post = PostSummaryResponse.builder()
+                .id(1L)
+                .title("글제목")
+                .excerpt("글내용")
+                .wordCount(1)
+                .createdDateTime(createdDateTime)
+                .build();
+        PostSummaryResponse editedPost = PostSummaryResponse.builder()
+                .id(1L)
+                .title("수정된 글제목")
+                .excerpt("글내용")
+                .wordCount(1)
+                .createdDateTime(createdDateTime)
+                .build();
+
+        given(postService.getPostList(any(PostSearchServiceRequest.class)))
+                .willReturn(List.of(post), List.of(post), List.of(editedPost));
+
+        String etag = mockMvc.perform(get("/posts"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+
+        // when // then
+        mockMvc.perform(get("/posts")
+                        .header(IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/posts")
+                        .header(IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("수정된 글제목"));
+    }
+
     @DisplayName("글을 여러개 조회한다.")
     @Test
     void getPostList() throws Exception {
@@ -233,11 +510,12 @@ class PostControllerTest extends ControllerTestSupport {
         LocalDateTime createdDateTime =
                 LocalDateTime.of(2024, 1, 18, 23, 30, 30);
 
-        List<PostResponse> response = LongStream.range(offset, offset + size)
-                .mapToObj(i -> PostResponse.builder()
+        List<PostSummaryResponse> response = LongStream.range(offset, offset + size)
+                .mapToObj(i -> PostSummaryResponse.builder()
                         .id(i)
                         .title("글제목 " + i)
-                        .content("글내용 " + i)
+                        .excerpt("글내용 " + i)
+                        .wordCount(2)
                         .createdDateTime(createdDateTime)
                         .build())
                 .collect(Collectors.toList());
@@ -268,11 +546,12 @@ class PostControllerTest extends ControllerTestSupport {
         LocalDateTime createdDateTime =
                 LocalDateTime.of(2024, 1, 18, 23, 30, 30);
 
-        List<PostResponse> response = LongStream.range(offset, offset + size)
-                .mapToObj(i -> PostResponse.builder()
+        List<PostSummaryResponse> response = LongStream.range(offset, offset + size)
+                .mapToObj(i -> PostSummaryResponse.builder()
                         .id(i)
                         .title("글제목 " + i)
-                        .content("글내용 " + i)
+                        .excerpt("글내용 " + i)
+                        .wordCount(2)
                         .createdDateTime(createdDateTime)
                         .build())
                 .collect(Collectors.toList());
@@ -303,11 +582,12 @@ class PostControllerTest extends ControllerTestSupport {
         LocalDateTime createdDateTime =
                 LocalDateTime.of(2024, 1, 18, 23, 30, 30);
 
-        List<PostResponse> response = LongStream.range(offset, offset + size)
-                .mapToObj(i -> PostResponse.builder()
+        List<PostSummaryResponse> response = LongStream.range(offset, offset + size)
+                .mapToObj(i -> PostSummaryResponse.builder()
                         .id(i)
                         .title("글제목 " + i)
-                        .content("글내용 " + i)
+                        .excerpt("글내용 " + i)
+                        .wordCount(2)
                         .createdDateTime(createdDateTime)
                         .build())
                 .collect(Collectors.toList());
@@ -326,6 +606,92 @@ class PostControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.data.length()").value(response.size()));
     }
 
+    @DisplayName("커서로 글을 여러개 조회하면 다음 커서와 이전 커서를 함께 반환한다.")
+    @Test
+    void getPostListWithCursor() throws Exception {
+        // given
+        int size = 2;
+        LocalDateTime createdDateTime =
+                LocalDateTime.of(2024, 1, 18, 23, 30, 30);
+
+        List<PostSummaryResponse> response = LongStream.of(9, 8)
+                .mapToObj(i -> PostSummaryResponse.builder()
+                        .id(i)
+                        .title("글제목 " + i)
+                        .excerpt("글내용 " + i)
+                        .wordCount(2)
+                        .createdDateTime(createdDateTime)
+                        .build())
+                .collect(Collectors.toList());
+
+        given(postService.getPostList(any(PostSearchServiceRequest.class)))
+                .willReturn(response);
+
+        // when // then
+        mockMvc.perform(get("/posts")
+                        .param("size", String.valueOf(size))
+                        .param("after", CursorUtils.encode(10L)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(size))
+                .andExpect(jsonPath("$.nextCursor").value(CursorUtils.encode(8L)))
+                .andExpect(jsonPath("$.prevCursor").value(CursorUtils.encode(9L)));
+    }
+
+    @DisplayName("잘못된 커서로 글을 여러개 조회하면 예외가 발생한다.")
+    @Test
+    void getPostListWithInvalidCursor() throws Exception {
+        // when // then
+        mockMvc.perform(get("/posts")
+                        .param("after", "invalid-cursor!"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value("유효하지 않은 커서입니다."));
+    }
+
+    @DisplayName("검색어로 글을 검색한다.")
+    @Test
+    void searchPosts() throws Exception {
+        // given
+        PostSearchResultResponse post = PostSearchResultResponse.builder()
+                .id(1L)
+                .title("스프링 트랜잭션")
+                .excerpt("스프링의 트랜잭션 전파 속성 정리")
+                .wordCount(4)
+                .createdDateTime(LocalDateTime.of(2024, 1, 18, 23, 30, 30))
+                .snippet("스프링의 트랜잭션 전파 속성 정리")
+                .highlights(List.of(new Highlight(0, 3)))
+                .build();
+
+        given(postService.searchPosts(any(PostTextSearchServiceRequest.class)))
+                .willReturn(PostSearchResponse.builder()
+                        .total(11)
+                        .posts(List.of(post))
+                        .build());
+
+        // when // then
+        mockMvc.perform(get("/posts/search")
+                        .param("q", "스프링")
+                        .param("page", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(11))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].title").value("스프링 트랜잭션"))
+                .andExpect(jsonPath("$.data[0].highlights[0].start").value(0))
+                .andExpect(jsonPath("$.data[0].highlights[0].end").value(3));
+    }
+
+    @DisplayName("검색어 없이 글을 검색하면 예외가 발생한다.")
+    @Test
+    void searchPostsWithoutQuery() throws Exception {
+        // when // then
+        mockMvc.perform(get("/posts/search"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @WithMockUser(username = "jim@gmail.com", roles = {"ADMIN"})
     @DisplayName("글을 수정한다.")
     @Test
@@ -498,4 +864,76 @@ class PostControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.code").value("403"))
                 .andExpect(jsonPath("$.message").value("접근할 수 없습니다."));
     }
-}
\ No newline at end of file
+
+    @WithMockUser(username = "jim@gmail.com", roles = {"ADMIN"})
+    @DisplayName("모든 글을 NDJSON으로 내보낸다.")
+    @Test
+    void exportPosts() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(postService).exportPosts(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(header().string(CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @WithMockUser(username = "jim@gmail.com", roles = {"USER"})
+    @DisplayName("글을 내보낼때 유저 권한만 가진 사용자는 내보낼 수 없다.")
+    @Test
+    void exportPostsForUserWithUserRole() throws Exception {
+        // when // then
+        mockMvc.perform(get("/posts/export"))
+                .andDo(print())
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("403"));
+    }
+
+    @WithMockUser(username = "jim@gmail.com", roles = {"ADMIN"})
+    @DisplayName("NDJSON으로 글을 가져온다.")
+    @Test
+    void importPosts() throws Exception {
+        // given
+        given(postService.importPosts(any(InputStream.class), eq(100)))
+                .willReturn(PostImportResponse.builder()
+                        .total(1)
+                        .imported(1)
+                        .failed(0)
+                        .failures(List.of())
+                        .build());
+
+        // when // then
+        mockMvc.perform(post("/posts/import")
+                        .param("chunkSize", "100")
+                        .content("{\"title\":\"글제목\",\"content\":\"글내용\"}\n")
+                        .contentType(APPLICATION_NDJSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.imported").value(1));
+    }
+
+    @WithMockUser(username = "jim@gmail.com", roles = {"USER"})
+    @DisplayName("글을 가져올때 유저 권한만 가진 사용자는 가져올 수 없다.")
+    @Test
+    void importPostsForUserWithUserRole() throws Exception {
+        // when // then
+        mockMvc.perform(post("/posts/import")
+                        .content("{\"title\":\"글제목\",\"content\":\"글내용\"}\n")
+                        .contentType(APPLICATION_NDJSON))
+                .andDo(print())
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("403"));
+    }
+}
@@ -0,0 +1,36 @@
+package jimuanco.jimslog.api.controller.tag;
+
+import jimuanco.jimslog.ControllerTestSupport;
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TagControllerTest extends ControllerTestSupport {
+
+    @DisplayName("태그 목록을 조회한다.")
+    @Test
+    void getTags() throws Exception {
+        // given
+        given(tagService.getTagCloud())
+                .willReturn(List.of(
+                        TagResponse.builder().name("스프링").postsCount(2).build(),
+                        TagResponse.builder().name("jpa").postsCount(1).build()
+                ));
+
+        // when // then
+        mockMvc.perform(get("/tags"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].name").value("스프링"))
+                .andExpect(jsonPath("$.data[0].postsCount").value(2));
+    }
+}
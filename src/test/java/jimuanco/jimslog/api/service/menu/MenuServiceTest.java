@@ -6,6 +6,7 @@ import jimuanco.jimslog.api.service.menu.request.MenuServiceRequest;
 import jimuanco.jimslog.api.service.post.response.MenuResponse;
 import jimuanco.jimslog.domain.menu.Menu;
 import jimuanco.jimslog.domain.menu.MenuRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +30,14 @@ class MenuServiceTest extends IntegrationTestSupport {
     @Autowired
     private MenuRepository menuRepository;
 
+    @Autowired
+    private MenuCache menuCache;
+
+    @BeforeEach
+    void setUp() {
+        menuCache.evict();
+    }
+
     @DisplayName("새로운 메뉴를 생성한다.")
     @Test
     void createMenus() {
@@ -508,4 +517,43 @@ class MenuServiceTest extends IntegrationTestSupport {
         assertThat(savedMainMenu3.getChildren()).hasSize(0);
     }
 
-}
\ No newline at end of file
+    @DisplayName("메뉴를 변경하면 캐시된 메뉴 목록도 갱신된다.")
+    @Test
+    void getMenusAfterChangeMenus() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+        em.flush();
+        em.clear();
+
+        List<MenuResponse> cachedMenus = menuService.getMenus();
+
+        List<MenuServiceRequest> serviceRequests = List.of(
+                MenuServiceRequest.builder()
+                        .id(mainMenu1.getId())
+                        .name("1. 메뉴")
+                        .listOrder(1)
+                        .children(new ArrayList<>())
+                        .build(),
+                MenuServiceRequest.builder()
+                        .name("2. 메뉴")
+                        .listOrder(2)
+                        .children(new ArrayList<>())
+                        .build()
+        );
+
+        // when
+        menuService.changeMenus(serviceRequests);
+        em.flush();
+        em.clear();
+        List<MenuResponse> menus = menuService.getMenus();
+
+        // then
+        assertThat(cachedMenus).extracting("name").contains("1. 메뉴").doesNotContain("2. 메뉴");
+        assertThat(menus).extracting("name").contains("1. 메뉴", "2. 메뉴");
+    }
+}
@@ -0,0 +1,82 @@
+package jimuanco.jimslog.api.service.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostBodyCache postBodyCache =
+            new PostBodyCache(objectMapper, meterRegistry, DataSize.ofMegabytes(1), DataSize.ofBytes(100));
+
+    @DisplayName("기준 크기 이상인 본문은 한번만 직렬화, 압축하고 이후에는 캐시된 바이트를 반환한다.")
+    @Test
+    void getGzippedFromCache() throws IOException {
+        // given
+        Map<String, String> body = Map.of("content", "글내용 ".repeat(100));
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        byte[] first = postBodyCache.getGzipped(1L, "\"etag\"", () -> {
+            loadCount.incrementAndGet();
+            return body;
+        });
+        byte[] second = postBodyCache.getGzipped(1L, "\"etag\"", () -> {
+            loadCount.incrementAndGet();
+            return body;
+        });
+
+        // then
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            assertThat(in.readAllBytes()).isEqualTo(objectMapper.writeValueAsBytes(body));
+        }
+        assertThat(meterRegistry.get("jimslog.compression.ratio").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jimslog.compression.ratio").summary().max()).isLessThan(1.0);
+    }
+
+    @DisplayName("ETag가 바뀌면 새로 압축한다.")
+    @Test
+    void getGzippedWithNewEtag() {
+        // given
+        Map<String, String> body = Map.of("content", "글내용 ".repeat(100));
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        postBodyCache.getGzipped(1L, "\"etag1\"", () -> {
+            loadCount.incrementAndGet();
+            return body;
+        });
+        postBodyCache.getGzipped(1L, "\"etag2\"", () -> {
+            loadCount.incrementAndGet();
+            return body;
+        });
+
+        // then
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @DisplayName("기준 크기보다 작은 본문은 압축하지 않고 null을 반환한다.")
+    @Test
+    void getGzippedWithSmallBody() {
+        // when
+        byte[] gzipped = postBodyCache.getGzipped(1L, "\"etag\"", () -> Map.of("content", "짧은 글"));
+
+        // then
+        assertThat(gzipped).isNull();
+        assertThat(meterRegistry.get("jimslog.compression.ratio").summary().count()).isEqualTo(0);
+    }
+}
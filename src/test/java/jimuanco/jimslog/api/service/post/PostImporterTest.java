@@ -0,0 +1,131 @@
+package jimuanco.jimslog.api.service.post;
+
+import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.api.service.post.event.PostChangePipeline;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse;
+import jimuanco.jimslog.domain.menu.Menu;
+import jimuanco.jimslog.domain.menu.MenuRepository;
+import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.post.PostRepository;
+import jimuanco.jimslog.domain.tag.PostTagRepository;
+import jimuanco.jimslog.domain.tag.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PostImporterTest extends IntegrationTestSupport {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private PostTagRepository postTagRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostChangePipeline postChangePipeline;
+
+    @AfterEach
+    void tearDown() {
+        postChangePipeline.flush();
+        postTagRepository.deleteAllInBatch();
+        tagRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        menuRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("NDJSON으로 받은 글들을 chunk 단위로 저장하고, 메뉴는 이름으로 찾아 글 갯수를 늘린다.")
+    @Test
+    void importPosts() throws IOException {
+        // given
+        Menu mainMenu1 = menuRepository.save(Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build());
+
+        String ndjson = String.join("\n",
+                "{\"title\":\"글제목1\",\"content\":\"글내용1\",\"menu\":\"1. 메뉴\",\"tags\":[\"스프링\",\"JPA\"]}",
+                "{\"title\":\"글제목2\",\"content\":\"글내용2\",\"createdDateTime\":\"2024-01-02T03:04:05\"}",
+                "",
+                "{\"title\":\"글제목3\",\"content\":\"글내용3\",\"menu\":\"1. 메뉴\",\"tags\":[\"jpa\"]}");
+
+        // when
+        PostImportResponse response = postService.importPosts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 2);
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isZero();
+
+        List<Post> posts = postRepository.findAll().stream()
+                .sorted(Comparator.comparing(Post::getId))
+                .toList();
+        assertThat(posts)
+                .extracting("title", "content", "menu.id")
+                .containsExactly(
+                        tuple("글제목1", "글내용1", mainMenu1.getId()),
+                        tuple("글제목2", "글내용2", null),
+                        tuple("글제목3", "글내용3", mainMenu1.getId())
+                );
+        assertThat(posts.get(1).getCreatedDateTime()).hasToString("2024-01-02T03:04:05");
+        assertThat(postTagRepository.findAllByPostId(posts.get(0).getId()))
+                .extracting("tag.name")
+                .containsExactly("스프링", "jpa");
+        assertThat(postTagRepository.findAllByPostId(posts.get(2).getId()))
+                .extracting("tag.name")
+                .containsExactly("jpa");
+        assertThat(tagRepository.count()).isEqualTo(2);
+        assertThat(menuRepository.findById(mainMenu1.getId()).get().getPostCount()).isEqualTo(2);
+    }
+
+    @DisplayName("형식이 잘못되었거나 없는 메뉴를 가리키는 줄은 건너뛰고 줄 번호와 이유를 알려준다.")
+    @Test
+    void importPostsWithInvalidLines() throws IOException {
+        // given
+        String ndjson = String.join("\n",
+                "{\"title\":\"글제목1\",\"content\":\"글내용1\"}",
+                "{\"title\":",
+                "{\"title\":\"\",\"content\":\"글내용3\"}",
+                "{\"title\":\"글제목4\",\"content\":\"글내용4\",\"menu\":\"없는 메뉴\"}");
+
+        // when
+        PostImportResponse response = postService.importPosts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(4);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getFailures())
+                .extracting("line", "message")
+                .containsExactly(
+                        tuple(2, "JSON 형식이 올바르지 않습니다."),
+                        tuple(3, "제목을 입력해주세요."),
+                        tuple(4, "존재하지 않는 메뉴입니다.")
+                );
+        assertThat(postRepository.findAll())
+                .extracting("title")
+                .containsExactly("글제목1");
+    }
+}
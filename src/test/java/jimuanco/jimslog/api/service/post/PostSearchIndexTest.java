@@ -0,0 +1,195 @@
+package jimuanco.jimslog.api.service.post;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jimuanco.jimslog.api.service.post.PostSearchIndex.PostSearchHits;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostIndexDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    @TempDir
+    private Path directory;
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = openIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postSearchIndex.shutdown();
+    }
+
+    @DisplayName("검색어가 더 많이, 제목에 포함된 글일수록 먼저 조회된다.")
+    @Test
+    void searchRankedByScore() {
+        // given
+        postSearchIndex.index(1L, "일상", "오늘은 스프링 공부를 했다.");
+        postSearchIndex.index(2L, "스프링 트랜잭션", "스프링의 트랜잭션 전파 속성 정리");
+        postSearchIndex.index(3L, "자바", "자바 컬렉션 정리");
+
+        // when
+        PostSearchHits hits = postSearchIndex.search("스프링", 0, 10);
+
+        // then
+        assertThat(hits.getTotal()).isEqualTo(2);
+        assertThat(hits.getPostIds()).containsExactly(2L, 1L);
+    }
+
+    @DisplayName("검색 결과를 offset, limit으로 나누어 조회한다.")
+    @Test
+    void searchWithPaging() {
+        // given
+        for (long id = 1; id <= 5; id++) {
+            postSearchIndex.index(id, "글제목", "자바 정리 " + id);
+        }
+
+        // when
+        PostSearchHits hits = postSearchIndex.search("자바", 2, 2);
+
+        // then
+        assertThat(hits.getTotal()).isEqualTo(5);
+        assertThat(hits.getPostIds()).containsExactly(3L, 2L);
+    }
+
+    @DisplayName("다시 색인하면 이전 내용은 검색되지 않고, 삭제하면 더 이상 검색되지 않는다.")
+    @Test
+    void reindexAndRemove() {
+        // given
+        postSearchIndex.index(1L, "스프링", "스프링 정리");
+
+        // when
+        postSearchIndex.index(1L, "자바", "자바 정리");
+
+        // then
+        assertThat(postSearchIndex.search("스프링", 0, 10).getTotal()).isEqualTo(0);
+        assertThat(postSearchIndex.search("자바", 0, 10).getPostIds()).containsExactly(1L);
+
+        postSearchIndex.remove(1L);
+        assertThat(postSearchIndex.search("자바", 0, 10).getTotal()).isEqualTo(0);
+    }
+
+    @DisplayName("검색어가 비어있으면 결과가 없다.")
+    @Test
+    void searchWithBlankQuery() {
+        // given
+        postSearchIndex.index(1L, "스프링", "스프링 정리");
+
+        // when
+        PostSearchHits hits = postSearchIndex.search("  ", 0, 10);
+
+        // then
+        assertThat(hits.getTotal()).isEqualTo(0);
+        assertThat(hits.getPostIds()).isEmpty();
+    }
+
+    @DisplayName("검색 결과에는 본문에서 가장 드문 검색어가 처음 나오는 원본 본문 위치가 code point 기준으로 담긴다.")
+    @Test
+    void searchPositions() {
+        // given
+        postSearchIndex.indexAll(List.of(
+                PostIndexDto.builder()
+                        .id(1L)
+                        .title("일기")
+                        .content("## 소개\n오늘은 **자바** 공부, 😀 트랜잭션 정리")
+                        .plainContent("소개 오늘은 자바 공부, 😀 트랜잭션 정리")
+                        .build(),
+                PostIndexDto.builder()
+                        .id(2L)
+                        .title("자바")
+                        .content("자바 컬렉션")
+                        .plainContent("자바 컬렉션")
+                        .build(),
+                PostIndexDto.builder()
+                        .id(3L)
+                        .title("자바")
+                        .content("")
+                        .plainContent("")
+                        .build()
+        ));
+
+        // when
+        PostSearchHits hits = postSearchIndex.search("자바 트랜잭션", 0, 10);
+
+        // then
+        assertThat(hits.getPostIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(hits.getPositions())
+                .containsEntry(1L, 23)
+                .containsEntry(2L, 0)
+                .doesNotContainKey(3L);
+    }
+
+    @DisplayName("WAS를 다시 시작하면 디스크의 세그먼트를 그대로 열어 검색한다.")
+    @Test
+    void reopenFromDisk() {
+        // given
+        postSearchIndex.index(1L, "스프링", "스프링 정리");
+        postSearchIndex.index(2L, "자바", "자바 정리");
+        postSearchIndex.index(3L, "스프링 부트", "스프링 부트 정리");
+        postSearchIndex.remove(3L);
+        postSearchIndex.updateCheckpoint(LocalDateTime.of(2024, 1, 18, 23, 30, 30));
+        postSearchIndex.shutdown();
+
+        // when
+        PostSearchIndex reopened = openIndex();
+
+        // then
+        assertThat(reopened.getDocCount()).isEqualTo(2);
+        assertThat(reopened.getCheckpoint()).isEqualTo(LocalDateTime.of(2024, 1, 18, 23, 30, 30));
+        assertThat(reopened.search("스프링", 0, 10).getPostIds()).containsExactly(1L);
+    }
+
+    @DisplayName("세그먼트가 max-segments개를 넘으면 작은 세그먼트들을 합치고, 합친 뒤에도 검색 결과는 같다.")
+    @Test
+    void mergeSegments() {
+        // given
+        for (long id = 1; id <= 5; id++) {
+            postSearchIndex.index(id, "글제목 " + id, "자바 정리 " + id);
+        }
+        postSearchIndex.index(3L, "스프링", "스프링 정리");
+        postSearchIndex.remove(4L);
+        PostSearchHits before = postSearchIndex.search("자바", 0, 10);
+
+        // when
+        postSearchIndex.mergeIfNeeded();
+
+        // then
+        assertThat(postSearchIndex.getSegmentCount()).isLessThanOrEqualTo(2);
+        assertThat(postSearchIndex.getDocCount()).isEqualTo(4);
+        assertThat(postSearchIndex.search("자바", 0, 10).getPostIds()).isEqualTo(before.getPostIds());
+        assertThat(postSearchIndex.search("스프링", 0, 10).getPostIds()).containsExactly(3L);
+        assertThat(directory.toFile().list((dir, name) -> name.endsWith(".idx")))
+                .hasSize(postSearchIndex.getSegmentCount());
+    }
+
+    @DisplayName("처음 만든 색인은 checkpoint가 없고, 초기화하면 모든 세그먼트가 지워진다.")
+    @Test
+    void clear() {
+        // given
+        postSearchIndex.index(1L, "스프링", "스프링 정리");
+
+        // when
+        postSearchIndex.clear();
+
+        // then
+        assertThat(postSearchIndex.getCheckpoint()).isNull();
+        assertThat(postSearchIndex.getSegmentCount()).isEqualTo(0);
+        assertThat(postSearchIndex.search("스프링", 0, 10).getTotal()).isEqualTo(0);
+    }
+
+    private PostSearchIndex openIndex() {
+        return new PostSearchIndex(new SimpleMeterRegistry(), directory.toString(), 2, 4);
+    }
+}
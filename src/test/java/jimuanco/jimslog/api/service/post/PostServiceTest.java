@@ -1,31 +1,52 @@
 package jimuanco.jimslog.api.service.post;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import jakarta.persistence.EntityManager;
 import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.api.service.post.image.ImageDeleteWorker;
 import jimuanco.jimslog.api.service.post.request.PostCreateServiceRequest;
 import jimuanco.jimslog.api.service.post.request.PostEditServiceRequest;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.request.PostTextSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostBatchResponse;
+import jimuanco.jimslog.api.service.post.response.PostNavigationResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
 import jimuanco.jimslog.api.service.post.response.PostResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
+import jimuanco.jimslog.api.service.post.view.PopularPostRanking;
+import jimuanco.jimslog.api.service.post.view.PostViewCounter;
 import jimuanco.jimslog.config.S3MockConfig;
 import jimuanco.jimslog.domain.menu.Menu;
 import jimuanco.jimslog.domain.menu.MenuRepository;
+import jimuanco.jimslog.domain.post.ImageDeleteOutbox;
+import jimuanco.jimslog.domain.post.ImageDeleteOutboxRepository;
 import jimuanco.jimslog.domain.post.Post;
 import jimuanco.jimslog.domain.post.PostImage;
 import jimuanco.jimslog.domain.post.PostImageRepository;
 import jimuanco.jimslog.domain.post.PostRepository;
 import jimuanco.jimslog.exception.MenuNotFound;
+import jimuanco.jimslog.exception.PostImageNotFound;
 import jimuanco.jimslog.exception.PostNotFound;
+import jimuanco.jimslog.exception.TooManyPostIds;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -56,12 +77,36 @@ class PostServiceTest extends IntegrationTestSupport {
     @Autowired
     private AmazonS3 amazonS3;
 
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
     @Autowired
     private S3Uploader s3Uploader;
 
     @Autowired
     private PostImageRepository postImageRepository;
 
+    @Autowired
+    private ImageDeleteWorker imageDeleteWorker;
+
+    @Autowired
+    private ImageDeleteOutboxRepository imageDeleteOutboxRepository;
+
+    @Autowired
+    private PostSearchIndexer postSearchIndexer;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PopularPostRanking popularPostRanking;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
 //    @AfterAll
 //    static void tearDown(@Autowired S3Mock s3Mock) {
 //        s3Mock.stop();
@@ -202,6 +247,7 @@ class PostServiceTest extends IntegrationTestSupport {
 
         // when
         postService.createPost(request);
+        imageDeleteWorker.drain();
 
         // then
         List<PostImage> postImages = postImageRepository.findAll();
@@ -365,6 +411,7 @@ class PostServiceTest extends IntegrationTestSupport {
 
         // when
         postService.createPost(request);
+        imageDeleteWorker.drain();
 
         // then
         List<PostImage> postImages = postImageRepository.findAll();
@@ -458,8 +505,7 @@ class PostServiceTest extends IntegrationTestSupport {
                 .build();
 
         // when
-        assertThatThrownBy(() -> postService.createPost(request))
-                .isInstanceOf(AmazonS3Exception.class);
+        postService.createPost(request);
 
         // then
         List<PostImage> postImages = postImageRepository.findAll();
@@ -487,6 +533,95 @@ class PostServiceTest extends IntegrationTestSupport {
                 .contains("글제목 입니다.", "글내용 입니다.", post.getCreatedDateTime());
     }
 
+    @DisplayName("한번 조회한 글은 DB를 거치지 않고 캐시에서 조회한다.")
+    @Test
+    void getPostFromCache() {
+        // given
+        Post post = Post.builder()
+                .title("글제목 입니다.")
+                .content("글내용 입니다.")
+                .build();
+        postRepository.save(post);
+        postService.getPost(post.getId());
+
+        postRepository.delete(post);
+        em.flush();
+
+        // when
+        PostResponse response = postService.getPost(post.getId());
+
+        // then
+        assertThat(response)
+                .extracting("id", "title", "content")
+                .contains(post.getId(), "글제목 입니다.", "글내용 입니다.");
+    }
+
+    @DisplayName("글을 수정하면 캐시가 삭제되어 수정된 글이 조회된다.")
+    @Test
+    void getPostAfterEdit() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        Post post = Post.builder()
+                .title("글제목")
+                .content("글내용")
+                .menu(mainMenu1)
+                .build();
+        postRepository.save(post);
+        postService.getPost(post.getId());
+
+        PostEditServiceRequest request = PostEditServiceRequest.builder()
+                .title("글제목 수정")
+                .content("글내용 수정")
+                .menuId(Math.toIntExact(mainMenu1.getId()))
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build();
+
+        // when
+        postService.editPost(post.getId(), request);
+        PostResponse response = postService.getPost(post.getId());
+
+        // then
+        assertThat(response)
+                .extracting("title", "content")
+                .contains("글제목 수정", "글내용 수정");
+    }
+
+    @DisplayName("업로드한 이미지 URL로 원본과 지금까지 만들어진 줄인 이미지를 조회한다.")
+    @Test
+    void getPostImage() throws IOException {
+        // given
+        MockMultipartFile image = new MockMultipartFile("postImage",
+                "image.png",
+                "image/png",
+                "<<image.png>>".getBytes());
+        String uploadImageUrl = s3Uploader.upload(image, "images");
+
+        // when
+        PostImageResponse response = postService.getPostImage(uploadImageUrl.replace(localS3, s3Url));
+
+        // then
+        assertThat(response.getUrl()).isEqualTo(uploadImageUrl);
+        assertThat(response.getVariants()).isEmpty();
+    }
+
+    @DisplayName("업로드하지 않은 이미지 URL로 조회하면 예외가 발생한다.")
+    @Test
+    void getPostImageByNonExistingUrl() {
+        // when // then
+        assertThatThrownBy(() -> postService.getPostImage(s3Url + "/images/none.png"))
+                .isInstanceOf(PostImageNotFound.class)
+                .hasMessage("존재하지 않는 이미지입니다.");
+        assertThatThrownBy(() -> postService.getPostImage("https://example.com/images/none.png"))
+                .isInstanceOf(PostImageNotFound.class);
+    }
+
     @DisplayName("존재하지 않는 글ID로 글을 조회하면 예외가 발생한다.")
     @Test
     void getPostByNonExistingId() {
@@ -503,6 +638,236 @@ class PostServiceTest extends IntegrationTestSupport {
                 .hasMessage("존재하지 않는 글입니다.");
     }
 
+    @DisplayName("글의 이전/다음 글을 전체 글과 같은 메뉴 안에서 각각 조회한다.")
+    @Test
+    void getPostNavigation() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        Menu subMenu1_1 = Menu.builder()
+                .parent(mainMenu1)
+                .name("1-1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        mainMenu1.getChildren().add(subMenu1_1);
+        Menu mainMenu2 = Menu.builder()
+                .name("2. 메뉴")
+                .listOrder(2)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.saveAll(List.of(mainMenu1, mainMenu2));
+
+        Post post1 = Post.builder().title("글제목1").content("글내용1").menu(mainMenu1).build();
+        Post post2 = Post.builder().title("글제목2").content("글내용2").menu(mainMenu2).build();
+        Post post3 = Post.builder().title("글제목3").content("글내용3").menu(subMenu1_1).build();
+        Post post4 = Post.builder().title("글제목4").content("글내용4").build();
+        postRepository.saveAll(List.of(post1, post2, post3, post4));
+
+        // when
+        PostNavigationResponse navigation = postService.getPostNavigation(post3.getId());
+
+        // then
+        assertThat(navigation.getPrevious())
+                .extracting("id", "title")
+                .containsExactly(post2.getId(), "글제목2");
+        assertThat(navigation.getNext())
+                .extracting("id", "title")
+                .containsExactly(post4.getId(), "글제목4");
+        assertThat(navigation.getMenuPrevious())
+                .extracting("id", "title")
+                .containsExactly(post1.getId(), "글제목1");
+        assertThat(navigation.getMenuNext()).isNull();
+    }
+
+    @DisplayName("이전/다음 글은 Redis에 글마다 TTL이 있는 키로 캐시하고, 캐시를 지우면 옛 키를 읽지 않는다.")
+    @Test
+    void getPostNavigationAfterEvict() {
+        // given
+        Post post1 = Post.builder().title("글제목1").content("글내용1").build();
+        Post post2 = Post.builder().title("글제목2").content("글내용2").build();
+        postRepository.saveAll(List.of(post1, post2));
+
+        assertThat(postService.getPostNavigation(post2.getId()).getNext()).isNull();
+        String version = redisTemplate.opsForValue().get("post-navigation:version");
+        String key = "post-navigation:" + (version != null ? version : "0") + ":" + post2.getId();
+        assertThat(redisTemplate.getExpire(key)).isPositive();
+
+        Post post3 = postRepository.save(Post.builder().title("글제목3").content("글내용3").build());
+
+        // when
+        postCache.evictNavigations();
+        PostNavigationResponse navigation = postService.getPostNavigation(post2.getId());
+
+        // then
+        assertThat(navigation.getNext())
+                .extracting("id", "title")
+                .containsExactly(post3.getId(), "글제목3");
+    }
+
+    @DisplayName("여러 글을 ID로 한번에 조회하면 요청한 순서대로 돌려주고 없는 글 ID를 알려준다.")
+    @Test
+    void getPostBatch() {
+        // given
+        Post post1 = Post.builder().title("글제목1").content("글내용1").build();
+        Post post2 = Post.builder().title("글제목2").content("글내용2").build();
+        Post post3 = Post.builder().title("글제목3").content("글내용3").build();
+        postRepository.saveAll(List.of(post1, post2, post3));
+        Long missingId = post3.getId() + 100;
+
+        // when
+        PostBatchResponse response = postService.getPostBatch(
+                List.of(post3.getId(), missingId, post1.getId(), post3.getId()));
+
+        // then
+        assertThat(response.getPosts())
+                .extracting("id", "title", "excerpt")
+                .containsExactly(
+                        tuple(post3.getId(), "글제목3", "글내용3"),
+                        tuple(post1.getId(), "글제목1", "글내용1")
+                );
+        assertThat(response.getMissingIds()).containsExactly(missingId);
+    }
+
+    @DisplayName("여러 글을 ID로 조회할 때 한번 조회한 글은 캐시에서 가져오고, 수정하면 다시 읽는다.")
+    @Test
+    void getPostBatchFromCache() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        Post post1 = Post.builder().title("글제목1").content("글내용1").menu(mainMenu1).build();
+        Post post2 = Post.builder().title("글제목2").content("글내용2").menu(mainMenu1).build();
+        postRepository.saveAll(List.of(post1, post2));
+        postService.getPostBatch(List.of(post1.getId(), post2.getId()));
+
+        postRepository.delete(post1);
+        em.flush();
+        postService.editPost(post2.getId(), PostEditServiceRequest.builder()
+                .title("글제목2 수정")
+                .content("글내용2 수정")
+                .menuId(Math.toIntExact(mainMenu1.getId()))
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build());
+        em.flush();
+
+        // when
+        PostBatchResponse response = postService.getPostBatch(List.of(post1.getId(), post2.getId()));
+
+        // then
+        assertThat(response.getPosts())
+                .extracting("id", "title")
+                .containsExactly(
+                        tuple(post1.getId(), "글제목1"),
+                        tuple(post2.getId(), "글제목2 수정")
+                );
+        assertThat(response.getMissingIds()).isEmpty();
+    }
+
+    @DisplayName("여러 글을 ID로 조회할 때 한번에 100개를 넘게 요청하면 예외가 발생한다.")
+    @Test
+    void getPostBatchWithTooManyIds() {
+        // given
+        List<Long> postIds = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // when // then
+        assertThatThrownBy(() -> postService.getPostBatch(postIds))
+                .isInstanceOf(TooManyPostIds.class)
+                .hasMessage("한번에 조회할 수 있는 글 개수를 넘었습니다.");
+    }
+
+    @DisplayName("최근 조회수가 많은 글부터 인기 글로 조회하고, 삭제된 글은 순위에서 뺀다.")
+    @Test
+    void getPopularPosts() {
+        // given
+        Post post1 = Post.builder().title("글제목1").content("글내용1").build();
+        Post post2 = Post.builder().title("글제목2").content("글내용2").build();
+        Post post3 = Post.builder().title("글제목3").content("글내용3").build();
+        postRepository.saveAll(List.of(post1, post2, post3));
+
+        postViewCounter.increase(post1.getId(), "127.0.0.1|chrome");
+        postViewCounter.increase(post2.getId(), "127.0.0.1|chrome");
+        postViewCounter.increase(post2.getId(), "127.0.0.2|chrome");
+        postViewCounter.increase(post3.getId(), "127.0.0.1|chrome");
+        postViewCounter.increase(post3.getId(), "127.0.0.2|chrome");
+        postViewCounter.increase(post3.getId(), "127.0.0.3|chrome");
+        postViewCounter.flushToRedis();
+
+        postRepository.delete(post3);
+        em.flush();
+
+        // when
+        List<PostSummaryResponse> posts = postService.getPopularPosts(7);
+
+        // then
+        assertThat(posts)
+                .extracting("id", "title")
+                .containsExactly(
+                        tuple(post2.getId(), "글제목2"),
+                        tuple(post1.getId(), "글제목1")
+                );
+        assertThat(popularPostRanking.getTopPostIds(10)).doesNotContain(post3.getId());
+    }
+
+    @DisplayName("모든 글을 한 줄에 글 하나씩 NDJSON으로 내보낸다.")
+    @Test
+    void exportPosts() throws IOException {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        postService.createPost(PostCreateServiceRequest.builder()
+                .title("글제목1")
+                .content("글내용1\n둘째 줄")
+                .menuId(Math.toIntExact(mainMenu1.getId()))
+                .tags(List.of("스프링", "JPA"))
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build());
+        postService.createPost(PostCreateServiceRequest.builder()
+                .title("글제목2")
+                .content("글내용2")
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build());
+        em.flush();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        postService.exportPosts(outputStream);
+
+        // then
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines)
+                .filteredOn(line -> line.get("title").asText().startsWith("글제목"))
+                .extracting(
+                        line -> line.get("title").asText(),
+                        line -> line.get("content").asText(),
+                        line -> line.get("menuId").isNull() ? null : line.get("menuId").asLong(),
+                        line -> line.get("tags").toString()
+                )
+                .containsExactly(
+                        tuple("글제목1", "글내용1\n둘째 줄", mainMenu1.getId(), "[\"스프링\",\"jpa\"]"),
+                        tuple("글제목2", "글내용2", null, "[]")
+                );
+    }
+
     @DisplayName("서브 메뉴에 속한 글들을 Id 내림차순으로 조회한다.")
     @Test
     void getSubMenuPostList() {
@@ -545,15 +910,15 @@ class PostServiceTest extends IntegrationTestSupport {
                 .build();
 
         // when
-        List<PostResponse> postList = postService.getPostList(request);
+        List<PostSummaryResponse> postList = postService.getPostList(request);
 
         // then
         assertThat(postList).hasSize(3)
-                .extracting("title", "content", "createdDateTime")
+                .extracting("id", "title", "excerpt")
                 .containsExactly(
-                        tuple("글제목3", "글내용3", post3.getCreatedDateTime()),
-                        tuple("글제목2", "글내용2", post2.getCreatedDateTime()),
-                        tuple("글제목1", "글내용1", post1.getCreatedDateTime())
+                        tuple(post3.getId(), "글제목3", "글내용3"),
+                        tuple(post2.getId(), "글제목2", "글내용2"),
+                        tuple(post1.getId(), "글제목1", "글내용1")
                 );
     }
 
@@ -605,18 +970,94 @@ class PostServiceTest extends IntegrationTestSupport {
                 .build();
 
         // when
-        List<PostResponse> postList = postService.getPostList(request);
+        List<PostSummaryResponse> postList = postService.getPostList(request);
 
         // then
         assertThat(postList).hasSize(3)
-                .extracting("title", "content", "createdDateTime")
+                .extracting("id", "title", "excerpt")
                 .containsExactly(
-                        tuple("글제목3", "글내용3", post3.getCreatedDateTime()),
-                        tuple("글제목2", "글내용2", post2.getCreatedDateTime()),
-                        tuple("글제목1", "글내용1", post1.getCreatedDateTime())
+                        tuple(post3.getId(), "글제목3", "글내용3"),
+                        tuple(post2.getId(), "글제목2", "글내용2"),
+                        tuple(post1.getId(), "글제목1", "글내용1")
                 );
     }
 
+    @DisplayName("검색어가 포함된 글들을 검색 순위 순서로 조회한다.")
+    @Test
+    void searchPosts() {
+        // given
+        Post post1 = Post.builder()
+                .title("일상")
+                .content("오늘은 **스프링** 공부를 했다.")
+                .build();
+        Post post2 = Post.builder()
+                .title("스프링 트랜잭션")
+                .content("스프링의 트랜잭션 전파 속성 정리")
+                .build();
+        Post post3 = Post.builder()
+                .title("자바")
+                .content("자바 컬렉션 정리")
+                .build();
+        postRepository.saveAll(List.of(post1, post2, post3));
+        em.flush();
+        postSearchIndexer.rebuild();
+
+        PostTextSearchServiceRequest request = PostTextSearchServiceRequest.builder()
+                .query("스프링")
+                .page(1)
+                .size(10)
+                .build();
+
+        // when
+        PostSearchResponse response = postService.searchPosts(request);
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getPosts())
+                .extracting("id", "title", "snippet")
+                .containsExactly(
+                        tuple(post2.getId(), "스프링 트랜잭션", "스프링의 트랜잭션 전파 속성 정리"),
+                        tuple(post1.getId(), "일상", "오늘은 스프링 공부를 했다.")
+                );
+        assertThat(response.getPosts().get(1).getHighlights())
+                .extracting("start", "end")
+                .containsExactly(tuple(4, 7));
+    }
+
+    @DisplayName("긴 글은 검색어가 나오는 위치 앞뒤의 본문만 미리보기로 보여준다.")
+    @Test
+    void searchPostsSnippetAroundMatch() {
+        // given
+        String content = "가나다 ".repeat(100) + "**트랜잭션** 전파 속성 정리 " + "라마바 ".repeat(100);
+        Post post = Post.builder()
+                .title("정리")
+                .content(content)
+                .build();
+        postRepository.save(post);
+        em.flush();
+        postSearchIndexer.rebuild();
+
+        PostTextSearchServiceRequest request = PostTextSearchServiceRequest.builder()
+                .query("트랜잭션")
+                .page(1)
+                .size(10)
+                .build();
+
+        // when
+        PostSearchResponse response = postService.searchPosts(request);
+
+        // then
+        PostSearchResultResponse result = response.getPosts().get(0);
+        assertThat(result.getSnippet())
+                .startsWith("가나다")
+                .contains("트랜잭션 전파 속성 정리")
+                .hasSizeLessThanOrEqualTo(160);
+        assertThat(result.getHighlights()).hasSize(1);
+        assertThat(result.getSnippet().substring(
+                result.getHighlights().get(0).getStart(), result.getHighlights().get(0).getEnd()))
+                .isEqualTo("트랜잭션");
+    }
+
     @DisplayName("글 제목을 수정한다.")
     @Test
     void editPostTitle() {
@@ -715,6 +1156,8 @@ class PostServiceTest extends IntegrationTestSupport {
         assertThat(editedPost.getTitle()).isEqualTo("글제목");
         assertThat(editedPost.getContent()).isEqualTo("글내용 수정");
         assertThat((long) editedPost.getMenu().getId()).isEqualTo(subMenu1_1.getId());
+        assertThat(editedPost.getExcerpt()).isEqualTo("글내용 수정");
+        assertThat(editedPost.getWordCount()).isEqualTo(2);
     }
 
     @DisplayName("글 메뉴를 수정한다.")
@@ -773,6 +1216,63 @@ class PostServiceTest extends IntegrationTestSupport {
         assertThat((long) editedPost.getMenu().getId()).isEqualTo(subMenu1_2.getId());
     }
 
+    @DisplayName("글을 등록, 메뉴 수정, 삭제하면 메뉴의 글 갯수가 함께 변경된다.")
+    @Test
+    void changePostCountOfMenu() {
+        // given
+        Menu subMenu1_1 = Menu.builder()
+                .name("1-1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+
+        Menu subMenu1_2 = Menu.builder()
+                .name("1-2. 메뉴")
+                .listOrder(2)
+                .children(new ArrayList<>())
+                .build();
+
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(List.of(subMenu1_1, subMenu1_2))
+                .build();
+
+        menuRepository.save(mainMenu1);
+
+        PostCreateServiceRequest createRequest = PostCreateServiceRequest.builder()
+                .title("글제목")
+                .content("글내용")
+                .menuId(Math.toIntExact(subMenu1_1.getId()))
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build();
+
+        PostEditServiceRequest editRequest = PostEditServiceRequest.builder()
+                .title("글제목")
+                .content("글내용")
+                .menuId(Math.toIntExact(subMenu1_2.getId()))
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build();
+
+        // when // then
+        postService.createPost(createRequest);
+        Long postId = postRepository.findAll().get(0).getId();
+        em.clear();
+        assertThat(menuRepository.findById(subMenu1_1.getId()).get().getPostCount()).isEqualTo(1);
+
+        postService.editPost(postId, editRequest);
+        em.flush();
+        em.clear();
+        assertThat(menuRepository.findById(subMenu1_1.getId()).get().getPostCount()).isEqualTo(0);
+        assertThat(menuRepository.findById(subMenu1_2.getId()).get().getPostCount()).isEqualTo(1);
+
+        postService.deletePost(postId);
+        em.clear();
+        assertThat(menuRepository.findById(subMenu1_2.getId()).get().getPostCount()).isEqualTo(0);
+    }
+
     @DisplayName("존재하지 않는 글ID의 글을 수정할 시 예외가 발생한다.")
     @Test
     void editPostByNonExistingMenuId() {
@@ -938,6 +1438,7 @@ class PostServiceTest extends IntegrationTestSupport {
 
         // when
         postService.editPost(post.getId(), request);
+        imageDeleteWorker.drain();
 
         // then
         List<PostImage> postImages = postImageRepository.findAll();
@@ -1205,6 +1706,7 @@ class PostServiceTest extends IntegrationTestSupport {
 
         // when
         postService.editPost(post.getId(), request);
+        imageDeleteWorker.drain();
 
         // then
         List<PostImage> postImages = postImageRepository.findAll();
@@ -1361,8 +1863,7 @@ class PostServiceTest extends IntegrationTestSupport {
                 .build();
 
         // when
-        assertThatThrownBy(() -> postService.editPost(post.getId(), request))
-                .isInstanceOf(AmazonS3Exception.class);
+        postService.editPost(post.getId(), request);
 
         // then
         List<PostImage> postImages = postImageRepository.findAll();
@@ -1431,6 +1932,7 @@ class PostServiceTest extends IntegrationTestSupport {
 
         // when
         postService.deletePost(post.getId());
+        imageDeleteWorker.drain();
 
         // then
         assertThat(postImageRepository.findAll()).hasSize(0);
@@ -1443,4 +1945,110 @@ class PostServiceTest extends IntegrationTestSupport {
         assertThatThrownBy(() -> amazonS3.getObject(bucket, fileName2))
                 .isInstanceOf(AmazonS3Exception.class);
     }
-}
\ No newline at end of file
+
+    @DisplayName("같은 이미지를 쓰는 다른 글이 있으면 글을 삭제해도 S3의 이미지는 남는다.")
+    @Test
+    void deletePostWithSharedImage() throws IOException {
+        // given
+        MockMultipartFile image = new MockMultipartFile("postImage",
+                "image.png",
+                "image/png",
+                "<<shared image.png>>".getBytes());
+
+        String uploadImageUrl1 = s3Uploader.upload(image, "images").replace(localS3, s3Url);
+        postService.createPost(PostCreateServiceRequest.builder()
+                .title("글제목1")
+                .content("글내용1")
+                .uploadImageUrls(List.of(uploadImageUrl1))
+                .deleteImageUrls(new ArrayList<>())
+                .build());
+
+        String uploadImageUrl2 = s3Uploader.upload(image, "images").replace(localS3, s3Url);
+        postService.createPost(PostCreateServiceRequest.builder()
+                .title("글제목2")
+                .content("글내용2")
+                .uploadImageUrls(List.of(uploadImageUrl2))
+                .deleteImageUrls(new ArrayList<>())
+                .build());
+
+        List<Post> posts = postRepository.findAll();
+        Long postId1 = posts.get(0).getId();
+        Long postId2 = posts.get(1).getId();
+
+        // when
+        postService.deletePost(postId1);
+
+        // then
+        assertThat(uploadImageUrl2).isEqualTo(uploadImageUrl1);
+        assertThat(postImageRepository.findAll())
+                .extracting("postId")
+                .containsExactly(postId2);
+
+        String fileName = uploadImageUrl1.substring(s3Url.length() + 1);
+        assertThat(amazonS3.getObject(bucket, fileName).getKey()).isEqualTo(fileName);
+    }
+
+    @DisplayName("글을 삭제한 뒤 S3에서 지워지기 전에 같은 이미지를 다시 올리면 삭제 대기열에서 빼고 S3의 이미지를 남긴다.")
+    @Test
+    void deletePostAndUploadSameImageBeforeDrain() throws IOException {
+        // given
+        MockMultipartFile image = new MockMultipartFile("postImage",
+                "image.png",
+                "image/png",
+                "<<reuploaded image.png>>".getBytes());
+
+        String uploadImageUrl1 = s3Uploader.upload(image, "images").replace(localS3, s3Url);
+        postService.createPost(PostCreateServiceRequest.builder()
+                .title("글제목")
+                .content("글내용")
+                .uploadImageUrls(List.of(uploadImageUrl1))
+                .deleteImageUrls(new ArrayList<>())
+                .build());
+        postService.deletePost(postRepository.findAll().get(0).getId());
+
+        // when
+        String uploadImageUrl2 = s3Uploader.upload(image, "images").replace(localS3, s3Url);
+        imageDeleteWorker.drain();
+
+        // then
+        assertThat(uploadImageUrl2).isEqualTo(uploadImageUrl1);
+        assertThat(imageDeleteOutboxRepository.findAll()).isEmpty();
+
+        String fileName = uploadImageUrl2.substring(s3Url.length() + 1);
+        assertThat(postImageRepository.findAll())
+                .extracting("fileName")
+                .containsExactly(fileName);
+        assertThat(amazonS3.getObject(bucket, fileName).getKey()).isEqualTo(fileName);
+    }
+
+    @DisplayName("삭제 대기열에 있는 이미지를 다시 올리면 올리는 동안 대기열에서 먼저 빼서 S3에서 지워지지 않는다.")
+    @Test
+    void uploadImageWhileDeletePending() throws IOException {
+        // given
+        MockMultipartFile image = new MockMultipartFile("postImage",
+                "image.png",
+                "image/png",
+                "<<pending image.png>>".getBytes());
+
+        String fileName = s3Uploader.upload(image, "images").replace(localS3, s3Url).substring(s3Url.length() + 1);
+        List<PostImage> postImages = postImageRepository.findAll();
+        postImageRepository.deleteAllInBatch(postImages);
+        s3Uploader.deleteUnreferenced(postImages);
+        imageDeleteOutboxRepository.save(ImageDeleteOutbox.builder()
+                .fileName(fileName + "_w320.jpg")
+                .nextAttemptDateTime(LocalDateTime.now())
+                .build());
+
+        // when
+        s3Uploader.upload(image, "images");
+
+        // then
+        assertThat(imageDeleteOutboxRepository.findAll()).isEmpty();
+        assertThat(postImageRepository.findAll())
+                .extracting("fileName")
+                .containsExactly(fileName);
+
+        imageDeleteWorker.drain();
+        assertThat(amazonS3.getObject(bucket, fileName).getKey()).isEqualTo(fileName);
+    }
+}
@@ -1,7 +1,9 @@
 package jimuanco.jimslog.api.service.post;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.S3Object;
 import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
 import jimuanco.jimslog.domain.post.PostImage;
 import jimuanco.jimslog.domain.post.PostImageRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -11,8 +13,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 
@@ -58,11 +64,94 @@ class S3UploaderTest extends IntegrationTestSupport {
         String uploadImageUrl = s3Uploader.upload(image, dirName);
 
         // then
-        assertThat(uploadImageUrl).contains(originalFileName);
         assertThat(uploadImageUrl).contains(dirName);
+        assertThat(uploadImageUrl).endsWith(".png");
 
         List<PostImage> postImages = postImageRepository.findAll();
         assertThat(postImages).hasSize(1);
         assertThat(postImages.get(0).getPostId()).isNull();
+
+        S3Object s3Object = amazonS3.getObject(bucket, postImages.get(0).getFileName());
+        assertThat(s3Object.getObjectContent().readAllBytes()).isEqualTo("<<image.png>>".getBytes());
+    }
+
+    @DisplayName("이미지를 업로드하면 원본만 돌려주고, 줄인 이미지는 다 만든 뒤에 PostImage에 기록해 srcset으로 조회한다.")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 작업 스레드가 업로드한 행을 볼 수 있어야 한다.
+    @Test
+    void uploadImage() throws IOException, InterruptedException {
+        // given
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "png", png);
+        MockMultipartFile image = new MockMultipartFile("postImage",
+                "image.png",
+                "image/png",
+                png.toByteArray());
+
+        // when
+        PostImageResponse response = s3Uploader.uploadImage(image, "images");
+
+        // then
+        assertThat(response.getWidth()).isEqualTo(1000);
+        assertThat(response.getVariants()).isEmpty();
+        assertThat(response.getSrcset()).isEqualTo(response.getUrl() + " 1000w");
+
+        List<PostImage> postImages = awaitVariants();
+        assertThat(postImages).hasSize(1);
+        assertThat(postImages.get(0).getVariantFileNames()).containsExactly(
+                postImages.get(0).getFileName() + "_w320.jpg",
+                postImages.get(0).getFileName() + "_w768.jpg");
+        assertThat(amazonS3.doesObjectExist(bucket, postImages.get(0).getFileName() + "_w768.jpg")).isTrue();
+
+        PostImageResponse generated = s3Uploader.getImage(postImages.get(0).getFileName()).get();
+        assertThat(generated.getUrl()).isEqualTo(response.getUrl());
+        assertThat(generated.getVariants())
+                .extracting("width")
+                .containsExactly(320, 768);
+        assertThat(generated.getSrcset()).isEqualTo(
+                generated.getVariants().get(0).getUrl() + " 320w, "
+                        + generated.getVariants().get(1).getUrl() + " 768w, "
+                        + generated.getUrl() + " 1000w");
+
+        postImageRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("같은 내용의 이미지를 다시 올리면 S3에 다시 올리지 않고 같은 객체를 참조하는 행만 추가한다.")
+    @Test
+    void uploadSameImage() throws IOException {
+        // given
+        MockMultipartFile image1 = new MockMultipartFile("postImage",
+                "image1.png",
+                "image/png",
+                "<<same image>>".getBytes());
+        MockMultipartFile image2 = new MockMultipartFile("postImage",
+                "image2.png",
+                "image/png",
+                "<<same image>>".getBytes());
+
+        // when
+        String uploadImageUrl1 = s3Uploader.upload(image1, "images");
+        String uploadImageUrl2 = s3Uploader.upload(image2, "images");
+
+        // then
+        assertThat(uploadImageUrl2).isEqualTo(uploadImageUrl1);
+
+        List<PostImage> postImages = postImageRepository.findAll();
+        assertThat(postImages).hasSize(2);
+        assertThat(postImages)
+                .extracting("fileName")
+                .containsOnly(postImages.get(0).getFileName());
+        assertThat(postImages.get(0).getContentHash()).hasSize(64);
+        assertThat(amazonS3.listObjects(bucket, postImages.get(0).getFileName()).getObjectSummaries()).hasSize(1);
+    }
+
+    private List<PostImage> awaitVariants() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<PostImage> postImages = postImageRepository.findAll();
+        while (postImages.stream().anyMatch(postImage -> postImage.getVariantFileNames().isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            postImages = postImageRepository.findAll();
+        }
+        return postImages;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package jimuanco.jimslog.api.service.post.event;
+
+import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.api.service.post.PostSearchIndex;
+import jimuanco.jimslog.api.service.post.PostSearchIndexer;
+import jimuanco.jimslog.api.service.post.PostService;
+import jimuanco.jimslog.api.service.post.request.PostCreateServiceRequest;
+import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.post.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+
+import static jimuanco.jimslog.api.service.post.event.PostChangedEvent.Type.CREATED;
+import static jimuanco.jimslog.api.service.post.event.PostChangedEvent.Type.EDITED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostChangePipelineTest extends IntegrationTestSupport {
+
+    @Autowired
+    private PostChangePipeline postChangePipeline;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostSearchIndexer postSearchIndexer;
+
+    @BeforeEach
+    void setUp() {
+        // 다른 테스트에서 남긴 변경과 색인을 비운다.
+        postChangePipeline.flush();
+        postSearchIndexer.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postChangePipeline.flush();
+        postRepository.deleteAllInBatch();
+        postSearchIndexer.rebuild();
+    }
+
+    @DisplayName("글을 작성하면 커밋 후 변경 이벤트가 대기열에 들어가고, 처리되면 검색 색인에 반영된다.")
+    @Test
+    void createPost() {
+        // given
+        PostCreateServiceRequest request = PostCreateServiceRequest.builder()
+                .title("스프링 트랜잭션")
+                .content("트랜잭션 전파 속성 정리")
+                .uploadImageUrls(new ArrayList<>())
+                .deleteImageUrls(new ArrayList<>())
+                .build();
+        postService.createPost(request);
+        Post post = postRepository.findAll().get(0);
+
+        assertThat(postChangePipeline.getQueueDepth()).isEqualTo(1);
+        assertThat(postSearchIndex.search("트랜잭션", 0, 10).getPostIds()).isEmpty();
+
+        // when
+        postChangePipeline.flush();
+
+        // then
+        assertThat(postChangePipeline.getQueueDepth()).isEqualTo(0);
+        assertThat(postSearchIndex.search("트랜잭션", 0, 10).getPostIds()).containsExactly(post.getId());
+    }
+
+    @DisplayName("처리되기 전에 같은 글이 여러 번 바뀌면 하나로 합쳐 마지막 상태로 한번만 처리한다.")
+    @Test
+    void coalesceChanges() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("자바")
+                .content("자바 컬렉션")
+                .build());
+        postChangePipeline.onPostChanged(PostChangedEvent.of(post.getId(), CREATED));
+
+        post.edit("스프링", "스프링 정리", null);
+        postRepository.save(post);
+        postChangePipeline.onPostChanged(PostChangedEvent.of(post.getId(), EDITED));
+        postChangePipeline.onPostChanged(PostChangedEvent.of(post.getId(), EDITED));
+
+        // when
+        int queueDepth = postChangePipeline.getQueueDepth();
+        postChangePipeline.flush();
+
+        // then
+        assertThat(queueDepth).isEqualTo(1);
+        assertThat(postSearchIndex.search("자바", 0, 10).getPostIds()).isEmpty();
+        assertThat(postSearchIndex.search("스프링", 0, 10).getPostIds()).containsExactly(post.getId());
+    }
+}
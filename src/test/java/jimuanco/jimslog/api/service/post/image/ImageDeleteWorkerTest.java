@@ -0,0 +1,97 @@
+package jimuanco.jimslog.api.service.post.image;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.domain.post.ImageDeleteOutbox;
+import jimuanco.jimslog.domain.post.ImageDeleteOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class ImageDeleteWorkerTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ImageDeleteWorker imageDeleteWorker;
+
+    @Autowired
+    private ImageDeleteOutboxRepository imageDeleteOutboxRepository;
+
+    @Autowired
+    private AmazonS3 amazonS3;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @BeforeEach
+    public void setUp() {
+        amazonS3.createBucket(bucket);
+    }
+
+    @DisplayName("삭제 대기열에 쌓인 S3 객체를 한번에 지우고 대기열에서 뺀다.")
+    @Test
+    void drain() {
+        // given
+        put("images/delete1.png");
+        put("images/delete2.png");
+        put("images/later.png");
+
+        LocalDateTime now = LocalDateTime.now();
+        imageDeleteOutboxRepository.saveAll(List.of(
+                ImageDeleteOutbox.builder().fileName("images/delete1.png").nextAttemptDateTime(now).build(),
+                ImageDeleteOutbox.builder().fileName("images/delete2.png").nextAttemptDateTime(now).build(),
+                ImageDeleteOutbox.builder().fileName("images/later.png").nextAttemptDateTime(now.plusHours(1)).build()
+        ));
+
+        // when
+        imageDeleteWorker.drain();
+
+        // then
+        assertThat(amazonS3.doesObjectExist(bucket, "images/delete1.png")).isFalse();
+        assertThat(amazonS3.doesObjectExist(bucket, "images/delete2.png")).isFalse();
+        assertThat(amazonS3.doesObjectExist(bucket, "images/later.png")).isTrue();
+        assertThat(imageDeleteOutboxRepository.findAll())
+                .extracting("fileName")
+                .containsExactly("images/later.png");
+    }
+
+    @DisplayName("삭제에 실패하면 시도할 때마다 두배씩 늘어난 간격 뒤에 다시 시도하고, 최대 간격을 넘지 않는다.")
+    @Test
+    void retryLater() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        ImageDeleteOutbox outbox = ImageDeleteOutbox.builder()
+                .fileName("images/image.png")
+                .nextAttemptDateTime(now)
+                .build();
+
+        // when // then
+        outbox.retryLater(now, Duration.ofSeconds(30), Duration.ofMinutes(2));
+        assertThat(outbox.getNextAttemptDateTime()).isEqualTo(now.plusSeconds(30));
+
+        outbox.retryLater(now, Duration.ofSeconds(30), Duration.ofMinutes(2));
+        assertThat(outbox.getNextAttemptDateTime()).isEqualTo(now.plusSeconds(60));
+
+        outbox.retryLater(now, Duration.ofSeconds(30), Duration.ofMinutes(2));
+        outbox.retryLater(now, Duration.ofSeconds(30), Duration.ofMinutes(2));
+        assertThat(outbox.getNextAttemptDateTime()).isEqualTo(now.plusMinutes(2));
+        assertThat(outbox.getAttempts()).isEqualTo(4);
+    }
+
+    private void put(String fileName) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(0);
+        amazonS3.putObject(bucket, fileName, new ByteArrayInputStream(new byte[0]), metadata);
+    }
+}
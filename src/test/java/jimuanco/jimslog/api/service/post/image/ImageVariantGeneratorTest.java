@@ -0,0 +1,219 @@
+package jimuanco.jimslog.api.service.post.image;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import jimuanco.jimslog.IntegrationTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jimuanco.jimslog.api.service.post.image.ImageVariantGenerator.ImageInfo;
+import jimuanco.jimslog.domain.post.ImageDeleteOutboxRepository;
+import jimuanco.jimslog.domain.post.PostImage;
+import jimuanco.jimslog.domain.post.PostImageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ImageVariantGeneratorTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @Autowired
+    private AmazonS3 amazonS3;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Autowired
+    private PostImageRepository postImageRepository;
+
+    @Autowired
+    private ImageDeleteOutboxRepository imageDeleteOutboxRepository;
+
+    @BeforeEach
+    public void setUp() {
+        amazonS3.createBucket(bucket);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postImageRepository.deleteAllInBatch();
+        imageDeleteOutboxRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("이미지 헤더만 읽어 너비와 투명도를 구하고, 이미지가 아니면 비어 있다.")
+    @Test
+    void readInfo() throws IOException {
+        // given
+        MockMultipartFile image = new MockMultipartFile("postImage", "image.png", "image/png",
+                toPng(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB)));
+        MockMultipartFile notImage = new MockMultipartFile("postImage", "image.png", "image/png",
+                "<<image.png>>".getBytes());
+
+        // when // then
+        assertThat(imageVariantGenerator.readInfo(image)).contains(new ImageInfo(1000, 500, true));
+        assertThat(imageVariantGenerator.readInfo(notImage)).isEmpty();
+    }
+
+    @DisplayName("원본보다 좁은 너비만 만들고, 투명도가 없으면 JPEG로 저장한다.")
+    @Test
+    void plan() {
+        // when
+        List<ImageVariant> variants = imageVariantGenerator.plan("images/a.png", new ImageInfo(1000, 500, false));
+
+        // then
+        assertThat(variants)
+                .extracting("width", "fileName", "contentType")
+                .containsExactly(
+                        tuple(320, "images/a.png_w320.jpg", "image/jpeg"),
+                        tuple(768, "images/a.png_w768.jpg", "image/jpeg")
+                );
+    }
+
+    @DisplayName("헤더에 적힌 픽셀 수가 max-pixels를 넘는 이미지는 파일이 작아도 리사이즈하지 않는다.")
+    @Test
+    void planTooManyPixels() throws IOException {
+        // given
+        MockMultipartFile image = new MockMultipartFile("postImage", "bomb.png", "image/png",
+                withSize(toPng(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB)), 50_000, 50_000));
+
+        // when
+        ImageInfo info = imageVariantGenerator.readInfo(image).get();
+        List<ImageVariant> variants = imageVariantGenerator.plan("images/bomb.png", info);
+
+        // then
+        assertThat(image.getSize()).isLessThan(1024);
+        assertThat(info).isEqualTo(new ImageInfo(50_000, 50_000, false));
+        assertThat(variants).isEmpty();
+    }
+
+    @DisplayName("S3의 원본을 읽어 너비별로 줄인 이미지를 원본 옆에 저장하고, 원본을 참조하는 행에 기록한다.")
+    @Test
+    void generate() throws IOException {
+        // given
+        putPng("images/generate.png");
+        postImageRepository.saveAll(List.of(
+                PostImage.builder().fileName("images/generate.png").build(),
+                PostImage.builder().postId(1L).fileName("images/generate.png").build()
+        ));
+
+        List<ImageVariant> variants = imageVariantGenerator.plan("images/generate.png", new ImageInfo(1000, 500, false));
+
+        // when
+        imageVariantGenerator.generate("images/generate.png", variants);
+
+        // then
+        BufferedImage variant320 = read("images/generate.png_w320.jpg");
+        assertThat(variant320.getWidth()).isEqualTo(320);
+        assertThat(variant320.getHeight()).isEqualTo(160);
+        BufferedImage variant768 = read("images/generate.png_w768.jpg");
+        assertThat(variant768.getWidth()).isEqualTo(768);
+        assertThat(variant768.getHeight()).isEqualTo(384);
+
+        assertThat(postImageRepository.findAll())
+                .extracting("variantFileNames")
+                .containsOnly(List.of("images/generate.png_w320.jpg", "images/generate.png_w768.jpg"));
+    }
+
+    @DisplayName("만드는 사이 원본을 참조하는 행이 모두 지워졌으면 만든 이미지를 삭제 대기열에 넣는다.")
+    @Test
+    void generateWithoutReference() throws IOException {
+        // given
+        putPng("images/removed.png");
+        List<ImageVariant> variants = imageVariantGenerator.plan("images/removed.png", new ImageInfo(1000, 500, false));
+
+        // when
+        imageVariantGenerator.generate("images/removed.png", variants);
+
+        // then
+        assertThat(imageDeleteOutboxRepository.findAll())
+                .extracting("fileName")
+                .containsExactlyInAnyOrder("images/removed.png_w320.jpg", "images/removed.png_w768.jpg");
+    }
+
+    @DisplayName("대기열이 가득 차면 작업을 넣지 않고 false를 돌려준다.")
+    @Test
+    void submitWhenQueueIsFull() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AmazonS3 blockingS3 = mock(AmazonS3.class);
+        // 직접 만든 객체라 bucket이 주입되지 않아 null로 호출된다.
+        given(blockingS3.getObject(nullable(String.class), anyString())).willAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        ImageVariantGenerator generator = new ImageVariantGenerator(blockingS3, postImageRepository,
+                imageDeleteOutboxRepository, new SimpleMeterRegistry(), List.of(320), 0.8f, 25_000_000L, 1, 1);
+        List<ImageVariant> variants = generator.plan("images/a.png", new ImageInfo(1000, 500, false));
+
+        try {
+            // when
+            boolean running = generator.submit("images/a.png", variants);
+            started.await(5, TimeUnit.SECONDS);
+            boolean queued = generator.submit("images/b.png", variants);
+            boolean rejected = generator.submit("images/c.png", variants);
+
+            // then
+            assertThat(running).isTrue();
+            assertThat(queued).isTrue();
+            assertThat(rejected).isFalse();
+        } finally {
+            release.countDown();
+            generator.shutdown();
+        }
+    }
+
+    private void putPng(String fileName) throws IOException {
+        byte[] png = toPng(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB));
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(png.length);
+        amazonS3.putObject(bucket, fileName, new ByteArrayInputStream(png), metadata);
+    }
+
+    private BufferedImage read(String fileName) throws IOException {
+        try (S3Object s3Object = amazonS3.getObject(bucket, fileName)) {
+            return ImageIO.read(s3Object.getObjectContent());
+        }
+    }
+
+    // PNG IHDR 청크의 가로/세로만 바꾸고 CRC를 다시 계산한다. (픽셀 데이터는 그대로)
+    private static byte[] withSize(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -1,9 +1,9 @@
 package jimuanco.jimslog.api.service.post.response;
 
 import jimuanco.jimslog.domain.menu.Menu;
-import jimuanco.jimslog.domain.post.Post;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,53 +12,32 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class MenuResponseTest {
 
-    @DisplayName("Menu 엔티티로 MenuResponse 객체 생성시 각 메뉴별 게시글 갯수가 계산된다.")
+    @DisplayName("Menu 엔티티로 MenuResponse 객체 생성시 메인 메뉴의 게시글 갯수에는 서브 메뉴의 게시글 갯수가 포함된다.")
     @Test
     void calculatePostCountInMenuResponse() {
         // given
-        Post post1 = Post.builder()
-                .title("글제목1")
-                .content("글내용1")
-                .build();
-        Post post2 = Post.builder()
-                .title("글제목2")
-                .content("글내용2")
-                .build();
-        Post post3 = Post.builder()
-                .title("글제목3")
-                .content("글내용3")
-                .build();
-        Post post4 = Post.builder()
-                .title("글제목4")
-                .content("글내용4")
-                .build();
-
-        Menu subMenu1_1 = Menu.builder()
-                .name("1-1. 메뉴")
-                .listOrder(1)
-                .children(new ArrayList<>())
-                .postList(List.of(post1, post2))
-                .build();
+        Menu subMenu1_1 = createMenu("1-1. 메뉴", 1, 2, new ArrayList<>());
+        Menu subMenu1_2 = createMenu("1-2. 메뉴", 2, 1, new ArrayList<>());
+        Menu subMenu1_3 = createMenu("1-3. 메뉴", 3, 0, new ArrayList<>());
+        Menu mainMenu1 = createMenu("1. 메뉴", 1, 1, List.of(subMenu1_1, subMenu1_2, subMenu1_3));
 
-        Menu subMenu1_2 = Menu.builder()
-                .name("1-2. 메뉴")
-                .listOrder(2)
-                .children(new ArrayList<>())
-                .postList(List.of(post3))
-                .build();
-
-        Menu mainMenu1 = Menu.builder()
-                .name("1. 메뉴")
-                .listOrder(1)
-                .children(List.of(subMenu1_1, subMenu1_2))
-                .postList(List.of(post4))
-                .build();
         // when
-        MenuResponse menuResponse = new MenuResponse(mainMenu1);
+        MenuResponse menuResponse = MenuResponse.of(mainMenu1);
 
         // then
         assertThat(menuResponse.getPostsCount()).isEqualTo(4);
         assertThat(menuResponse.getChildren().get(0).getPostsCount()).isEqualTo(2);
         assertThat(menuResponse.getChildren().get(1).getPostsCount()).isEqualTo(1);
+        assertThat(menuResponse.getChildren().get(2).getPostsCount()).isEqualTo(0);
+    }
+
+    private Menu createMenu(String name, int listOrder, int postCount, List<Menu> children) {
+        Menu menu = Menu.builder()
+                .name(name)
+                .listOrder(listOrder)
+                .children(children)
+                .build();
+        ReflectionTestUtils.setField(menu, "postCount", postCount);
+        return menu;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package jimuanco.jimslog.api.service.post.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexSegmentTest {
+
+    @TempDir
+    private Path directory;
+
+    @DisplayName("세그먼트 파일에 쓴 문서와 단어를 메모리 맵으로 다시 읽는다.")
+    @Test
+    void writeAndRead() throws IOException {
+        // given
+        Path path = directory.resolve("seg_1.idx");
+        try (IndexSegmentWriter writer = new IndexSegmentWriter(path, new long[]{3L, 7L}, new int[]{5, 2})) {
+            writer.addTerm("java", new int[]{1}, new int[]{2}, new int[]{0}, 1);
+            writer.addTerm("스프", new int[]{0, 1}, new int[]{3, 1}, new int[]{-1, 12}, 2);
+            writer.finish();
+        }
+
+        // when
+        IndexSegment segment = IndexSegment.open(path);
+
+        // then
+        assertThat(segment.getDocCount()).isEqualTo(2);
+        assertThat(segment.getTermCount()).isEqualTo(2);
+        assertThat(segment.postId(1)).isEqualTo(7L);
+        assertThat(segment.docLength(0)).isEqualTo(5);
+
+        int term = segment.findTerm("스프");
+        assertThat(term).isEqualTo(1);
+        assertThat(segment.postingCount(term)).isEqualTo(2);
+        assertThat(segment.postingDoc(term, 0)).isEqualTo(0);
+        assertThat(segment.postingFrequency(term, 0)).isEqualTo(3);
+        assertThat(segment.postingPosition(term, 1)).isEqualTo(12);
+        assertThat(segment.findTerm("jpa")).isEqualTo(-1);
+    }
+
+    @DisplayName("단어를 오름차순으로 추가하지 않으면 예외가 발생한다.")
+    @Test
+    void addTermOutOfOrder() throws IOException {
+        // given
+        Path path = directory.resolve("seg_1.idx");
+        try (IndexSegmentWriter writer = new IndexSegmentWriter(path, new long[]{1L}, new int[]{2})) {
+            writer.addTerm("스프", new int[]{0}, new int[]{1}, new int[]{0}, 1);
+
+            // when // then
+            assertThatThrownBy(() -> writer.addTerm("java", new int[]{0}, new int[]{1}, new int[]{0}, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @DisplayName("세그먼트 파일이 아니면 열 수 없다.")
+    @Test
+    void openInvalidFile() throws IOException {
+        // given
+        Path path = directory.resolve("seg_1.idx");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        // when // then
+        assertThatThrownBy(() -> IndexSegment.open(path))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
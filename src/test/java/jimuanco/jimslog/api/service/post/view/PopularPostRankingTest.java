@@ -0,0 +1,86 @@
+package jimuanco.jimslog.api.service.post.view;
+
+import jimuanco.jimslog.IntegrationTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PopularPostRankingTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private PopularPostRanking popularPostRanking;
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete("post-popularity");
+    }
+
+    @DisplayName("조회수를 더한 점수가 높은 글부터 조회한다.")
+    @Test
+    void getTopPostIds() {
+        // given
+        increase(popularPostRanking, 1L, 3);
+        increase(popularPostRanking, 2L, 5);
+        increase(popularPostRanking, 3L, 1);
+        increase(popularPostRanking, 1L, 3);
+
+        // when
+        List<Long> postIds = popularPostRanking.getTopPostIds(2);
+
+        // then
+        assertThat(postIds).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("점수는 half-life마다 절반이 되어 예전에 많이 본 글보다 최근에 본 글이 앞설 수 있고, 너무 작아진 글은 순위에서 빠진다.")
+    @Test
+    void decay() {
+        // given
+        PopularPostRanking ranking = new PopularPostRanking(
+                redisTemplate, Duration.ofHours(1), Duration.ofHours(1), 1000);
+        increase(ranking, 1L, 4);
+        increase(ranking, 3L, 1);
+        for (int i = 0; i < 10; i++) {
+            ranking.decayNow();
+        }
+        increase(ranking, 1L, 4096);
+        ranking.decayNow();
+        increase(ranking, 2L, 3000);
+
+        // when
+        List<Long> postIds = ranking.getTopPostIds(10);
+
+        // then
+        assertThat(postIds).containsExactly(2L, 1L);
+    }
+
+    @DisplayName("순위에는 점수가 높은 글을 max-ranked-posts개까지만 남긴다.")
+    @Test
+    void decayKeepsTopPosts() {
+        // given
+        PopularPostRanking ranking = new PopularPostRanking(
+                redisTemplate, Duration.ofHours(1), Duration.ofHours(1), 2);
+        increase(ranking, 1L, 10);
+        increase(ranking, 2L, 30);
+        increase(ranking, 3L, 20);
+
+        // when
+        ranking.decayNow();
+
+        // then
+        assertThat(ranking.getTopPostIds(10)).containsExactly(2L, 3L);
+    }
+
+    private void increase(PopularPostRanking ranking, Long postId, long views) {
+        ranking.increase(redisTemplate, postId, views);
+    }
+}
@@ -0,0 +1,95 @@
+package jimuanco.jimslog.api.service.post.view;
+
+import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.post.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostViewCounterTest extends IntegrationTestSupport {
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        postViewCounter.flushToRedis();
+        postViewCounter.flushToDatabase();
+        postRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("조회수는 Redis를 거쳐 DB에 한번에 반영되고, 같은 클라이언트가 다시 본 글은 세지 않는다.")
+    @Test
+    void increase() {
+        // given
+        Post post1 = Post.builder().title("글제목1").content("글내용1").build();
+        Post post2 = Post.builder().title("글제목2").content("글내용2").build();
+        postRepository.saveAll(List.of(post1, post2));
+
+        postViewCounter.increase(post1.getId(), "127.0.0.1|chrome");
+        postViewCounter.increase(post1.getId(), "127.0.0.1|chrome");
+        postViewCounter.increase(post1.getId(), "127.0.0.2|chrome");
+        postViewCounter.increase(post2.getId(), "127.0.0.1|chrome");
+        postViewCounter.flushToRedis();
+        postViewCounter.increase(post1.getId(), "127.0.0.3|chrome");
+
+        // when
+        postViewCounter.flushToRedis();
+        postViewCounter.flushToDatabase();
+
+        // then
+        assertThat(postRepository.findById(post1.getId()).orElseThrow().getViewCount()).isEqualTo(3);
+        assertThat(postRepository.findById(post2.getId()).orElseThrow().getViewCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Redis에 모인 조회수를 DB에 반영하기 전에는 DB의 조회수가 바뀌지 않는다.")
+    @Test
+    void increaseBeforeFlush() {
+        // given
+        Post post = Post.builder().title("글제목").content("글내용").build();
+        postRepository.save(post);
+
+        // when
+        postViewCounter.increase(post.getId(), "127.0.0.1|chrome");
+        postViewCounter.flushToRedis();
+
+        // then
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getViewCount()).isZero();
+    }
+
+    @DisplayName("가져간 뒤 반영하지 못하고 flushing-timeout이 지나도록 남은 조회수는 다음 번에 다시 반영하고, 처리 중인 키는 건드리지 않는다.")
+    @Test
+    void flushAbandonedKeys() {
+        // given
+        Post post = Post.builder().title("글제목").content("글내용").build();
+        postRepository.save(post);
+
+        String abandonedKey = "post-views:flushing:0:abandoned";
+        String inProgressKey = "post-views:flushing:" + System.currentTimeMillis() + ":in-progress";
+        redisTemplate.opsForHash().put(abandonedKey, String.valueOf(post.getId()), "5");
+        redisTemplate.opsForHash().put(inProgressKey, String.valueOf(post.getId()), "7");
+
+        // when
+        postViewCounter.flushToDatabase();
+
+        // then
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getViewCount()).isEqualTo(5);
+        assertThat(redisTemplate.hasKey(abandonedKey)).isFalse();
+        assertThat(redisTemplate.hasKey(inProgressKey)).isTrue();
+
+        redisTemplate.delete(inProgressKey);
+    }
+}
@@ -0,0 +1,57 @@
+package jimuanco.jimslog.api.service.post.view;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RotatingBloomFilterTest {
+
+    private static final long WINDOW = 1000;
+
+    @DisplayName("처음 넣는 키만 true를 반환한다.")
+    @Test
+    void add() {
+        // given
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.01, WINDOW, 0);
+
+        // when // then
+        assertThat(filter.add("1:127.0.0.1", 0)).isTrue();
+        assertThat(filter.add("1:127.0.0.1", 10)).isFalse();
+        assertThat(filter.add("2:127.0.0.1", 20)).isTrue();
+    }
+
+    @DisplayName("넣은 키는 다음 window까지 기억하고, 그 사이에 다시 넣어도 두 window가 지나면 잊는다.")
+    @Test
+    void addAfterWindow() {
+        // given
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.01, WINDOW, 0);
+        filter.add("1:127.0.0.1", 0);
+
+        // when // then
+        assertThat(filter.add("2:127.0.0.1", WINDOW)).isTrue();
+        assertThat(filter.add("1:127.0.0.1", WINDOW + 10)).isFalse();
+        assertThat(filter.add("3:127.0.0.1", WINDOW * 2)).isTrue();
+        assertThat(filter.add("2:127.0.0.1", WINDOW * 2 + 10)).isFalse();
+        assertThat(filter.add("1:127.0.0.1", WINDOW * 2 + 20)).isTrue();
+    }
+
+    @DisplayName("예상 개수만큼 넣었을 때 처음 보는 키를 본 키로 잘못 판단하는 비율은 목표 오탐률 근처다.")
+    @Test
+    void falsePositiveRate() {
+        // given
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01, WINDOW, 0);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("seen:" + i, 0));
+
+        // when
+        long falsePositives = IntStream.range(0, 1_000)
+                .filter(i -> !filter.add("new:" + i, 0))
+                .count();
+
+        // then
+        assertThat(filter.getHashCount()).isEqualTo(7);
+        assertThat(falsePositives).isLessThan(30);
+    }
+}
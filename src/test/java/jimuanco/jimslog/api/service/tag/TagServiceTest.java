@@ -0,0 +1,104 @@
+package jimuanco.jimslog.api.service.tag;
+
+import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.post.PostRepository;
+import jimuanco.jimslog.domain.tag.Tag;
+import jimuanco.jimslog.domain.tag.TagRepository;
+import jimuanco.jimslog.exception.TagNotFound;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Transactional
+class TagServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagCloudCache tagCloudCache;
+
+    @DisplayName("글의 태그를 바꾸면 이름을 정리하고 없는 태그만 새로 만든다.")
+    @Test
+    void replaceTags() {
+        // given
+        tagRepository.save(Tag.builder().name("스프링").build());
+        Post post = postRepository.save(Post.builder()
+                .title("글제목")
+                .content("글내용")
+                .build());
+
+        // when
+        boolean changed = tagService.replaceTags(post, List.of(" #스프링 ", "Spring  Boot", "스프링", ""));
+
+        // then
+        assertThat(changed).isTrue();
+        assertThat(tagService.getTagNames(post.getId())).containsExactly("스프링", "spring boot");
+        assertThat(tagRepository.findAll()).hasSize(2);
+    }
+
+    @DisplayName("태그가 그대로이면 바꾸지 않는다.")
+    @Test
+    void replaceSameTags() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("글제목")
+                .content("글내용")
+                .build());
+        tagService.replaceTags(post, List.of("스프링", "jpa"));
+
+        // when
+        boolean changed = tagService.replaceTags(post, List.of("#스프링", "JPA"));
+
+        // then
+        assertThat(changed).isFalse();
+    }
+
+    @DisplayName("태그 목록은 글이 달린 태그만 글 수가 많은 순서로 조회한다.")
+    @Test
+    void getTagCloud() {
+        // given
+        tagCloudCache.evict();
+        tagRepository.save(Tag.builder().name("빈태그").build());
+        Post post1 = postRepository.save(Post.builder().title("글제목1").content("글내용1").build());
+        Post post2 = postRepository.save(Post.builder().title("글제목2").content("글내용2").build());
+        tagService.replaceTags(post1, List.of("스프링", "jpa"));
+        tagService.replaceTags(post2, List.of("스프링"));
+
+        // when
+        List<TagResponse> tags = tagService.getTagCloud();
+
+        // then
+        assertThat(tags)
+                .extracting("name", "postsCount")
+                .containsExactly(
+                        tuple("스프링", 2),
+                        tuple("jpa", 1)
+                );
+        tagCloudCache.evict();
+    }
+
+    @DisplayName("존재하지 않는 태그의 ID를 찾으면 예외가 발생한다.")
+    @Test
+    void getTagIdNotFound() {
+        // when // then
+        assertThatThrownBy(() -> tagService.getTagId("없는태그"))
+                .isInstanceOf(TagNotFound.class)
+                .hasMessage("존재하지 않는 태그입니다.");
+    }
+}
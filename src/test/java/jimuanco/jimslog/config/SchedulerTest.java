@@ -5,6 +5,11 @@ import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.api.service.post.image.ImageDeleteWorker;
+import jimuanco.jimslog.domain.menu.Menu;
+import jimuanco.jimslog.domain.menu.MenuRepository;
+import jimuanco.jimslog.domain.post.Post;
+import jimuanco.jimslog.domain.post.PostRepository;
 import jimuanco.jimslog.domain.post.PostImage;
 import jimuanco.jimslog.domain.post.PostImageRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -15,6 +20,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,9 +32,18 @@ class SchedulerTest extends IntegrationTestSupport {
     @Autowired
     private PostImageRepository postImageRepository;
 
+    @Autowired
+    private ImageDeleteWorker imageDeleteWorker;
+
     @Autowired
     private AmazonS3 amazonS3;
 
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
     @Autowired
     private Scheduler scheduler;
 
@@ -42,6 +58,9 @@ class SchedulerTest extends IntegrationTestSupport {
     @AfterEach
     public void tearDown() {
         amazonS3.deleteBucket(bucket);
+        postImageRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        menuRepository.deleteAllInBatch();
     }
 
     @DisplayName("일정 시간 이상 등록되지 않은 글의 이미지는 스케줄러에 의해 삭제된다.")
@@ -63,10 +82,65 @@ class SchedulerTest extends IntegrationTestSupport {
 
         // when
         scheduler.deleteUnNecessaryImage();
+        imageDeleteWorker.drain();
 
         // then
         assertThat(postImageRepository.findAll().size()).isEqualTo(0);
         assertThatThrownBy(() -> amazonS3.getObject(bucket, fileName))
                 .isInstanceOf(AmazonS3Exception.class);
     }
-}
\ No newline at end of file
+
+    @DisplayName("등록되지 않은 이미지라도 같은 내용의 이미지를 다른 글이 쓰고 있으면 행만 지우고 S3 객체는 남긴다.")
+    @Test
+    void deletePostImagesWhenTimeExceedsKeepsReferencedObject() {
+        // given
+        String fileName = "images/shared.png";
+        postImageRepository.saveAll(List.of(
+                PostImage.builder().fileName(fileName).contentHash("hash").build(),
+                PostImage.builder().postId(1L).fileName(fileName).contentHash("hash").build()
+        ));
+
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType("image/png");
+        amazonS3.putObject(new PutObjectRequest(bucket, fileName, new ByteArrayInputStream("".getBytes(UTF_8)), objectMetadata));
+
+        // when
+        scheduler.deleteUnNecessaryImage();
+
+        // then
+        assertThat(postImageRepository.findAll())
+                .extracting("postId")
+                .containsExactly(1L);
+        assertThat(amazonS3.getObject(bucket, fileName).getKey()).isEqualTo(fileName);
+    }
+
+    @DisplayName("실제 글 갯수와 다른 메뉴의 글 갯수는 스케줄러에 의해 보정된다.")
+    @Test
+    void reconcileMenuPostCount() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        Menu mainMenu2 = Menu.builder()
+                .name("2. 메뉴")
+                .listOrder(2)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.saveAll(List.of(mainMenu1, mainMenu2));
+
+        postRepository.saveAll(List.of(
+                Post.builder().title("글제목1").content("글내용1").menu(mainMenu1).build(),
+                Post.builder().title("글제목2").content("글내용2").menu(mainMenu1).build()
+        ));
+        menuRepository.increasePostCount(mainMenu2.getId());
+
+        // when
+        scheduler.reconcileMenuPostCount();
+
+        // then
+        assertThat(menuRepository.findById(mainMenu1.getId()).get().getPostCount()).isEqualTo(2);
+        assertThat(menuRepository.findById(mainMenu2.getId()).get().getPostCount()).isEqualTo(0);
+    }
+}
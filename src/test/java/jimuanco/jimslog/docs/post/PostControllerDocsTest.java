@@ -3,17 +3,35 @@ package jimuanco.jimslog.docs.post;
 import jimuanco.jimslog.api.controller.post.PostController;
 import jimuanco.jimslog.api.controller.post.request.PostCreateRequest;
 import jimuanco.jimslog.api.controller.post.request.PostEditRequest;
+import jimuanco.jimslog.api.service.post.PostBodyCache;
 import jimuanco.jimslog.api.service.post.PostService;
 import jimuanco.jimslog.api.service.post.S3Uploader;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.request.PostTextSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostBatchResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse;
+import jimuanco.jimslog.api.service.post.response.PostImageResponse.Variant;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse;
+import jimuanco.jimslog.api.service.post.response.PostImportResponse.Failure;
+import jimuanco.jimslog.api.service.post.response.PostLinkResponse;
+import jimuanco.jimslog.api.service.post.response.PostNavigationResponse;
 import jimuanco.jimslog.api.service.post.response.PostResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse;
+import jimuanco.jimslog.api.service.post.response.PostSearchResultResponse.Highlight;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
+import jimuanco.jimslog.api.service.post.view.PostViewCounter;
 import jimuanco.jimslog.docs.RestDocsSupport;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,8 +39,10 @@ import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.mock;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.*;
@@ -30,17 +50,21 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
 import static org.springframework.restdocs.snippet.Attributes.key;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class PostControllerDocsTest extends RestDocsSupport {
 
     private final PostService postService = mock(PostService.class);
     private final S3Uploader s3Uploader = mock(S3Uploader.class);
+    private final PostBodyCache postBodyCache = mock(PostBodyCache.class);
+    private final PostViewCounter postViewCounter = mock(PostViewCounter.class);
 
     @Override
     protected Object initController() {
-        return new PostController(postService, s3Uploader);
+        return new PostController(postService, s3Uploader, postBodyCache, postViewCounter);
     }
 
     @DisplayName("새로운 글을 등록하는 API")
@@ -52,6 +76,7 @@ class PostControllerDocsTest extends RestDocsSupport {
                 .menuId(1)
                 .uploadImageUrls(List.of("URL1", "URL2"))
                 .deleteImageUrls(List.of("URL3", "URL4"))
+                .tags(List.of("스프링", "JPA"))
                 .build();
         String json = objectMapper.writeValueAsString(request);
 
@@ -72,7 +97,9 @@ class PostControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("uploadImageUrls").type(JsonFieldType.ARRAY)
                                         .description("최종적으로 등록할 Image URL"),
                                 fieldWithPath("deleteImageUrls").type(JsonFieldType.ARRAY)
-                                        .description("최종적으로 등록하지 않을 Image URL")
+                                        .description("최종적으로 등록하지 않을 Image URL"),
+                                fieldWithPath("tags").type(JsonFieldType.ARRAY)
+                                        .description("태그 (최대 10개, 각 30자), 입력하지 않으면 태그를 바꾸지 않는다.").optional()
                         )
                 ));
     }
@@ -86,8 +113,12 @@ class PostControllerDocsTest extends RestDocsSupport {
                 "image/png",
                 "<<image.png>>".getBytes());
 
-        given(s3Uploader.upload(any(MockMultipartFile.class), anyString()))
-                .willReturn("S3 Image URL");
+        given(s3Uploader.uploadImage(any(MockMultipartFile.class), anyString()))
+                .willReturn(PostImageResponse.builder()
+                        .url("S3 Image URL")
+                        .width(1000)
+                        .variants(List.of())
+                        .build());
 
         // when // then
         mockMvc.perform(multipart("/posts/image")
@@ -101,8 +132,52 @@ class PostControllerDocsTest extends RestDocsSupport {
                                 partWithName("postImage").description("이미지 파일")
                         ),
                         responseFields(
-                                fieldWithPath("data").type(JsonFieldType.STRING)
-                                        .description("S3 Image URL")
+                                fieldWithPath("data.url").type(JsonFieldType.STRING)
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.width").type(JsonFieldType.NUMBER)
+                                        .description("원본 이미지 너비, 이미지로 읽을 수 없는 파일이면 반환하지 않는다.").optional(),
+                                fieldWithPath("data.variants").type(JsonFieldType.ARRAY)
+                                        .description("이미 만들어진 리사이즈 이미지, 처음 올린 이미지는 비어 있다."),
+                                fieldWithPath("data.srcset").type(JsonFieldType.STRING)
+                                        .description("img 태그의 srcset에 넣을 수 있는 URL 목록").optional()
+                        )
+                ));
+    }
+
+    @DisplayName("글 이미지의 리사이즈 이미지를 조회하는 API")
+    @Test
+    void getPostImage() throws Exception {
+        // given
+        given(postService.getPostImage(anyString()))
+                .willReturn(PostImageResponse.builder()
+                        .url("S3 Image URL")
+                        .width(1000)
+                        .variants(List.of(
+                                new Variant(320, "S3 Image URL_w320.jpg"),
+                                new Variant(768, "S3 Image URL_w768.jpg")))
+                        .build());
+
+        // when // then
+        mockMvc.perform(get("/posts/image")
+                        .param("url", "S3 Image URL"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("post-image-inquiry",
+                        preprocessResponse(prettyPrint()),
+                        queryParameters(
+                                parameterWithName("url").description("업로드한 원본 이미지 URL")
+                        ),
+                        responseFields(
+                                fieldWithPath("data.url").type(JsonFieldType.STRING)
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.width").type(JsonFieldType.NUMBER)
+                                        .description("원본 이미지 너비, 이미지로 읽을 수 없는 파일이면 반환하지 않는다.").optional(),
+                                fieldWithPath("data.variants[].width").type(JsonFieldType.NUMBER)
+                                        .description("리사이즈한 이미지 너비 (원본보다 좁은 320, 768, 1280)"),
+                                fieldWithPath("data.variants[].url").type(JsonFieldType.STRING)
+                                        .description("리사이즈한 이미지 URL, 만들기를 마친 이미지만 반환한다."),
+                                fieldWithPath("data.srcset").type(JsonFieldType.STRING)
+                                        .description("img 태그의 srcset에 넣을 수 있는 URL 목록").optional()
                         )
                 ));
     }
@@ -119,10 +194,20 @@ class PostControllerDocsTest extends RestDocsSupport {
                         .title("글제목 입니다.")
                         .content("글내용 입니다.")
                         .createdDateTime(LocalDateTime.now())
+                        .modifiedDateTime(LocalDateTime.now())
+                        .tags(List.of("스프링", "jpa"))
+                        .build()
+                );
+        given(postService.getPostNavigation(anyLong()))
+                .willReturn(PostNavigationResponse.builder()
+                        .previous(new PostLinkResponse(postId - 1, "이전 글제목"))
+                        .next(new PostLinkResponse(postId + 1, "다음 글제목"))
+                        .menuNext(new PostLinkResponse(postId + 3, "메뉴 다음 글제목"))
                         .build()
                 );
         // when // then
-        mockMvc.perform(get("/posts/{postId}", postId))
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .param("navigation", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andDo(document("post-inquiry",
@@ -130,6 +215,11 @@ class PostControllerDocsTest extends RestDocsSupport {
                         pathParameters(parameterWithName("postId")
                                 .description("글 ID")
                         ),
+                        queryParameters(
+                                parameterWithName("navigation")
+                                        .description("이전/다음 글 포함 여부").optional()
+                                        .attributes(key("default").value("false"))
+                        ),
                         responseFields(
                                 fieldWithPath("data.id").type(JsonFieldType.NUMBER)
                                         .description("글 ID"),
@@ -138,7 +228,33 @@ class PostControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.content").type(JsonFieldType.STRING)
                                         .description("글 내용"),
                                 fieldWithPath("data.createdDateTime").type(JsonFieldType.ARRAY)
-                                        .description("글 작성 시간")
+                                        .description("글 작성 시간"),
+                                fieldWithPath("data.modifiedDateTime").type(JsonFieldType.ARRAY)
+                                        .description("글 수정 시간"),
+                                fieldWithPath("data.tags").type(JsonFieldType.ARRAY)
+                                        .description("태그"),
+                                fieldWithPath("data.navigation").type(JsonFieldType.OBJECT)
+                                        .description("이전/다음 글 (navigation=true일 때)").optional(),
+                                fieldWithPath("data.navigation.previous").type(JsonFieldType.OBJECT)
+                                        .description("이전 글").optional(),
+                                fieldWithPath("data.navigation.previous.id").type(JsonFieldType.NUMBER)
+                                        .description("이전 글 ID").optional(),
+                                fieldWithPath("data.navigation.previous.title").type(JsonFieldType.STRING)
+                                        .description("이전 글 제목").optional(),
+                                fieldWithPath("data.navigation.next").type(JsonFieldType.OBJECT)
+                                        .description("다음 글").optional(),
+                                fieldWithPath("data.navigation.next.id").type(JsonFieldType.NUMBER)
+                                        .description("다음 글 ID").optional(),
+                                fieldWithPath("data.navigation.next.title").type(JsonFieldType.STRING)
+                                        .description("다음 글 제목").optional(),
+                                fieldWithPath("data.navigation.menuPrevious").type(JsonFieldType.OBJECT)
+                                        .description("같은 메뉴의 이전 글").optional(),
+                                fieldWithPath("data.navigation.menuNext").type(JsonFieldType.OBJECT)
+                                        .description("같은 메뉴의 다음 글").optional(),
+                                fieldWithPath("data.navigation.menuNext.id").type(JsonFieldType.NUMBER)
+                                        .description("같은 메뉴의 다음 글 ID").optional(),
+                                fieldWithPath("data.navigation.menuNext.title").type(JsonFieldType.STRING)
+                                        .description("같은 메뉴의 다음 글 제목").optional()
                         )
                 ));
     }
@@ -151,11 +267,13 @@ class PostControllerDocsTest extends RestDocsSupport {
         int size = 2;
         int offset = 1;
 
-        List<PostResponse> response = LongStream.range(offset, offset + size)
-                .mapToObj(i -> PostResponse.builder()
+        List<PostSummaryResponse> response = LongStream.range(offset, offset + size)
+                .mapToObj(i -> PostSummaryResponse.builder()
                         .id(i)
                         .title("글제목 " + i)
-                        .content("글내용 " + i)
+                        .menuId(1L)
+                        .excerpt("글내용 " + i)
+                        .wordCount(2)
                         .createdDateTime(LocalDateTime.now())
                         .build())
                 .collect(Collectors.toList());
@@ -181,22 +299,198 @@ class PostControllerDocsTest extends RestDocsSupport {
                                         .attributes(key("default").value("10")),
                                 parameterWithName("menu")
                                         .description("메뉴 ID, 0(default)으로 조회시 모든 게시글 조회").optional()
-                                        .attributes(key("default").value("0"))
+                                        .attributes(key("default").value("0")),
+                                parameterWithName("after")
+                                        .description("다음 페이지 커서, 입력시 page 대신 커서 기준으로 조회").optional()
+                                        .attributes(key("default").value("")),
+                                parameterWithName("before")
+                                        .description("이전 페이지 커서, 입력시 page 대신 커서 기준으로 조회").optional()
+                                        .attributes(key("default").value("")),
+                                parameterWithName("tag")
+                                        .description("태그 이름, 입력시 해당 태그가 달린 글만 조회").optional()
+                                        .attributes(key("default").value(""))
                         ),
                         responseFields(
                                 fieldWithPath("data[0].id").type(JsonFieldType.NUMBER)
                                         .description("글 ID"),
                                 fieldWithPath("data[0].title").type(JsonFieldType.STRING)
                                         .description("글 제목"),
-                                fieldWithPath("data[0].content").type(JsonFieldType.STRING)
-                                        .description("글 내용"),
                                 fieldWithPath("data[0].createdDateTime").type(JsonFieldType.ARRAY)
-                                        .description("글 작성 시간")
+                                        .description("글 작성 시간"),
+                                fieldWithPath("data[0].menuId").type(JsonFieldType.NUMBER)
+                                        .description("메뉴 ID"),
+                                fieldWithPath("data[0].excerpt").type(JsonFieldType.STRING)
+                                        .description("글 내용 앞부분 (최대 200자)"),
+                                fieldWithPath("data[0].wordCount").type(JsonFieldType.NUMBER)
+                                        .description("글 단어 수"),
+                                fieldWithPath("nextCursor").type(JsonFieldType.STRING)
+                                        .description("다음 페이지 커서, 다음 페이지가 없으면 생략").optional(),
+                                fieldWithPath("prevCursor").type(JsonFieldType.STRING)
+                                        .description("이전 페이지 커서, 커서로 조회한 경우에만 반환").optional()
                         )
                 ));
 
     }
 
+    @DisplayName("글을 여러개 ID로 조회하는 API")
+    @Test
+    void getPostBatch() throws Exception {
+        // given
+        PostSummaryResponse post = PostSummaryResponse.builder()
+                .id(3L)
+                .title("글제목 3")
+                .menuId(1L)
+                .excerpt("글내용 3")
+                .wordCount(2)
+                .createdDateTime(LocalDateTime.now())
+                .build();
+
+        given(postService.getPostBatch(anyList()))
+                .willReturn(PostBatchResponse.builder()
+                        .posts(List.of(post))
+                        .missingIds(List.of(5L))
+                        .build());
+
+        // when // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/batch")
+                        .param("ids", "3,5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("posts-batch",
+                        preprocessResponse(prettyPrint()),
+                        queryParameters(
+                                parameterWithName("ids")
+                                        .description("글 ID 목록, 쉼표로 구분 (최대 100개)")
+                        ),
+                        responseFields(
+                                fieldWithPath("data.posts[].id").type(JsonFieldType.NUMBER)
+                                        .description("글 ID"),
+                                fieldWithPath("data.posts[].title").type(JsonFieldType.STRING)
+                                        .description("글 제목"),
+                                fieldWithPath("data.posts[].createdDateTime").type(JsonFieldType.ARRAY)
+                                        .description("글 작성 시간"),
+                                fieldWithPath("data.posts[].menuId").type(JsonFieldType.NUMBER)
+                                        .description("메뉴 ID"),
+                                fieldWithPath("data.posts[].excerpt").type(JsonFieldType.STRING)
+                                        .description("글 내용 앞부분 (최대 200자)"),
+                                fieldWithPath("data.posts[].wordCount").type(JsonFieldType.NUMBER)
+                                        .description("글 단어 수"),
+                                fieldWithPath("data.missingIds").type(JsonFieldType.ARRAY)
+                                        .description("존재하지 않는 글 ID 목록")
+                        )
+                ));
+    }
+
+    @DisplayName("인기 글을 조회하는 API")
+    @Test
+    void getPopularPosts() throws Exception {
+        // given
+        PostSummaryResponse post = PostSummaryResponse.builder()
+                .id(3L)
+                .title("글제목 3")
+                .menuId(1L)
+                .excerpt("글내용 3")
+                .wordCount(2)
+                .createdDateTime(LocalDateTime.now())
+                .build();
+
+        given(postService.getPopularPosts(anyInt()))
+                .willReturn(List.of(post));
+
+        // when // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/popular")
+                        .param("size", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("posts-popular",
+                        preprocessResponse(prettyPrint()),
+                        queryParameters(
+                                parameterWithName("size")
+                                        .description("사이즈 (최대 50)").optional()
+                                        .attributes(key("default").value("10"))
+                        ),
+                        responseFields(
+                                fieldWithPath("data[].id").type(JsonFieldType.NUMBER)
+                                        .description("글 ID"),
+                                fieldWithPath("data[].title").type(JsonFieldType.STRING)
+                                        .description("글 제목"),
+                                fieldWithPath("data[].createdDateTime").type(JsonFieldType.ARRAY)
+                                        .description("글 작성 시간"),
+                                fieldWithPath("data[].menuId").type(JsonFieldType.NUMBER)
+                                        .description("메뉴 ID"),
+                                fieldWithPath("data[].excerpt").type(JsonFieldType.STRING)
+                                        .description("글 내용 앞부분 (최대 200자)"),
+                                fieldWithPath("data[].wordCount").type(JsonFieldType.NUMBER)
+                                        .description("글 단어 수")
+                        )
+                ));
+    }
+
+    @DisplayName("글을 검색하는 API")
+    @Test
+    void searchPosts() throws Exception {
+        // given
+        PostSearchResultResponse post = PostSearchResultResponse.builder()
+                .id(1L)
+                .title("스프링 트랜잭션")
+                .menuId(1L)
+                .excerpt("스프링의 트랜잭션 전파 속성 정리")
+                .wordCount(4)
+                .createdDateTime(LocalDateTime.now())
+                .snippet("스프링의 트랜잭션 전파 속성 정리")
+                .highlights(List.of(new Highlight(0, 3)))
+                .build();
+
+        given(postService.searchPosts(any(PostTextSearchServiceRequest.class)))
+                .willReturn(PostSearchResponse.builder()
+                        .total(1)
+                        .posts(List.of(post))
+                        .build());
+
+        // when // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/search")
+                        .param("q", "스프링")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("posts-search",
+                        preprocessResponse(prettyPrint()),
+                        queryParameters(
+                                parameterWithName("q")
+                                        .description("검색어, 제목과 내용에서 검색"),
+                                parameterWithName("page")
+                                        .description("페이지").optional()
+                                        .attributes(key("default").value("1")),
+                                parameterWithName("size")
+                                        .description("사이즈 (최대 100)").optional()
+                                        .attributes(key("default").value("10"))
+                        ),
+                        responseFields(
+                                fieldWithPath("data[0].id").type(JsonFieldType.NUMBER)
+                                        .description("글 ID"),
+                                fieldWithPath("data[0].title").type(JsonFieldType.STRING)
+                                        .description("글 제목"),
+                                fieldWithPath("data[0].createdDateTime").type(JsonFieldType.ARRAY)
+                                        .description("글 작성 시간"),
+                                fieldWithPath("data[0].menuId").type(JsonFieldType.NUMBER)
+                                        .description("메뉴 ID"),
+                                fieldWithPath("data[0].excerpt").type(JsonFieldType.STRING)
+                                        .description("글 내용 앞부분 (최대 200자)"),
+                                fieldWithPath("data[0].wordCount").type(JsonFieldType.NUMBER)
+                                        .description("글 단어 수"),
+                                fieldWithPath("data[0].snippet").type(JsonFieldType.STRING)
+                                        .description("검색어가 나오는 본문 부분 (최대 160자), 본문에 검색어가 없으면 글 내용 앞부분"),
+                                fieldWithPath("data[0].highlights[].start").type(JsonFieldType.NUMBER)
+                                        .description("snippet에서 검색어 시작 위치"),
+                                fieldWithPath("data[0].highlights[].end").type(JsonFieldType.NUMBER)
+                                        .description("snippet에서 검색어 끝 위치 (포함하지 않음)"),
+                                fieldWithPath("count").type(JsonFieldType.NUMBER)
+                                        .description("전체 검색 결과 수")
+                        )
+                ));
+    }
+
     @DisplayName("글을 수정하는 API")
     @Test
     void editPost() throws Exception {
@@ -207,6 +501,7 @@ class PostControllerDocsTest extends RestDocsSupport {
                 .menuId(2)
                 .uploadImageUrls(List.of("URL1", "URL2"))
                 .deleteImageUrls(List.of("URL3", "URL4"))
+                .tags(List.of("스프링", "JPA"))
                 .build();
         String json = objectMapper.writeValueAsString(request);
 
@@ -230,7 +525,9 @@ class PostControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("uploadImageUrls").type(JsonFieldType.ARRAY)
                                         .description("최종적으로 등록할 Image URL"),
                                 fieldWithPath("deleteImageUrls").type(JsonFieldType.ARRAY)
-                                        .description("최종적으로 등록하지 않을 Image URL")
+                                        .description("최종적으로 등록하지 않을 Image URL"),
+                                fieldWithPath("tags").type(JsonFieldType.ARRAY)
+                                        .description("태그 (최대 10개, 각 30자), 입력하지 않으면 태그를 바꾸지 않는다.").optional()
                         )
                 ));
     }
@@ -249,4 +546,71 @@ class PostControllerDocsTest extends RestDocsSupport {
                         )
                 ));
     }
-}
\ No newline at end of file
+
+    @DisplayName("모든 글을 내보내는 API")
+    @Test
+    void exportPosts() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(("{\"id\":1,\"title\":\"글제목 입니다.\",\"content\":\"글내용 입니다.\",\"menuId\":1," +
+                    "\"tags\":[\"스프링\"],\"viewCount\":10,\"createdDateTime\":\"2024-01-18T23:30:30\"," +
+                    "\"modifiedDateTime\":\"2024-01-18T23:30:30\"}\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(postService).exportPosts(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("posts-export"));
+    }
+
+    @DisplayName("NDJSON으로 글을 가져오는 API")
+    @Test
+    void importPosts() throws Exception {
+        // given
+        given(postService.importPosts(any(InputStream.class), any()))
+                .willReturn(PostImportResponse.builder()
+                        .total(2)
+                        .imported(1)
+                        .failed(1)
+                        .failures(List.of(new Failure(2, "존재하지 않는 메뉴입니다.")))
+                        .build());
+
+        String ndjson = "{\"title\":\"글제목 입니다.\",\"content\":\"글내용 입니다.\",\"menu\":\"1. 메뉴\"," +
+                "\"tags\":[\"스프링\"],\"createdDateTime\":\"2024-01-18T23:30:30\"}\n" +
+                "{\"title\":\"글제목 입니다.\",\"content\":\"글내용 입니다.\",\"menu\":\"없는 메뉴\"}\n";
+
+        // when // then
+        mockMvc.perform(post("/posts/import")
+                        .param("chunkSize", "500")
+                        .content(ndjson)
+                        .contentType(APPLICATION_NDJSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("posts-import",
+                        preprocessResponse(prettyPrint()),
+                        queryParameters(
+                                parameterWithName("chunkSize")
+                                        .description("한 트랜잭션에 저장할 글 수 (기본 500, 최대 1000)").optional()
+                        ),
+                        responseFields(
+                                fieldWithPath("data.total").type(JsonFieldType.NUMBER)
+                                        .description("읽은 글 수 (빈 줄 제외)"),
+                                fieldWithPath("data.imported").type(JsonFieldType.NUMBER)
+                                        .description("저장한 글 수"),
+                                fieldWithPath("data.failed").type(JsonFieldType.NUMBER)
+                                        .description("저장하지 못한 글 수"),
+                                fieldWithPath("data.failures[].line").type(JsonFieldType.NUMBER)
+                                        .description("저장하지 못한 줄 번호 (앞쪽 100개까지)"),
+                                fieldWithPath("data.failures[].message").type(JsonFieldType.STRING)
+                                        .description("저장하지 못한 이유")
+                        )
+                ));
+    }
+}
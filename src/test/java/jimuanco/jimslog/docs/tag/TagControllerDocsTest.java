@@ -0,0 +1,57 @@
+package jimuanco.jimslog.docs.tag;
+
+import jimuanco.jimslog.api.controller.tag.TagController;
+import jimuanco.jimslog.api.service.tag.TagService;
+import jimuanco.jimslog.api.service.tag.response.TagResponse;
+import jimuanco.jimslog.docs.RestDocsSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.restdocs.payload.JsonFieldType;
+
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TagControllerDocsTest extends RestDocsSupport {
+
+    private final TagService tagService = mock(TagService.class);
+
+    @Override
+    protected Object initController() {
+        return new TagController(tagService);
+    }
+
+    @DisplayName("태그 목록을 조회하는 API")
+    @Test
+    void getTags() throws Exception {
+        // given
+        given(tagService.getTagCloud())
+                .willReturn(List.of(
+                        TagResponse.builder().name("스프링").postsCount(12).build(),
+                        TagResponse.builder().name("jpa").postsCount(5).build()
+                ));
+
+        // when // then
+        mockMvc.perform(get("/tags"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("tags-list",
+                        preprocessResponse(prettyPrint()),
+                        responseFields(
+                                fieldWithPath("data[].name").type(JsonFieldType.STRING)
+                                        .description("태그 이름"),
+                                fieldWithPath("data[].postsCount").type(JsonFieldType.NUMBER)
+                                        .description("태그가 달린 글 수, 글 수가 많은 순서로 정렬")
+                        )
+                ));
+    }
+}
@@ -153,4 +153,25 @@ class MenuRepositoryTest extends IntegrationTestSupport {
 
         assertThat(savedMainMenu3.getChildren()).hasSize(0);
     }
-}
\ No newline at end of file
+
+    @DisplayName("메뉴의 글 갯수를 증감 쿼리로 변경한다.")
+    @Test
+    void increaseAndDecreasePostCount() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        // when
+        menuRepository.increasePostCount(mainMenu1.getId());
+        menuRepository.increasePostCount(mainMenu1.getId());
+        menuRepository.decreasePostCount(mainMenu1.getId());
+        em.clear();
+
+        // then
+        assertThat(menuRepository.findById(mainMenu1.getId()).get().getPostCount()).isEqualTo(1);
+    }
+}
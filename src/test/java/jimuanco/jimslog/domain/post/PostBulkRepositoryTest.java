@@ -0,0 +1,59 @@
+package jimuanco.jimslog.domain.post;
+
+import jimuanco.jimslog.IntegrationTestSupport;
+import jimuanco.jimslog.domain.post.PostBulkRepository.PostExcerptDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Transactional
+class PostBulkRepositoryTest extends IntegrationTestSupport {
+
+    @Autowired
+    private PostBulkRepository postBulkRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("요약이 비어있는 글들을 id 순서로 나눠서 읽고 요약을 채운다.")
+    @Test
+    void backfillExcerpts() {
+        // given
+        for (int i = 1; i <= 3; i++) {
+            jdbcTemplate.update("INSERT INTO post(title, content, word_count) VALUES(?, ?, 0)",
+                    "글제목" + i, "**글내용" + i + "** 입니다");
+        }
+        Long firstId = jdbcTemplate.queryForObject("SELECT min(id) FROM post WHERE excerpt IS NULL", Long.class);
+
+        // when
+        List<PostExcerptDto> firstChunk = postBulkRepository.findExcerptTargets(firstId - 1, 2);
+        postBulkRepository.updateExcerpts(firstChunk);
+        List<PostExcerptDto> secondChunk =
+                postBulkRepository.findExcerptTargets(firstChunk.get(firstChunk.size() - 1).getId(), 2);
+        postBulkRepository.updateExcerpts(secondChunk);
+
+        // then
+        assertThat(firstChunk).hasSize(2);
+        assertThat(secondChunk).hasSize(1);
+        assertThat(postBulkRepository.findExcerptTargets(0, 10)).isEmpty();
+
+        List<Post> posts = postRepository.findAllById(List.of(firstId, firstId + 1, firstId + 2));
+        assertThat(posts).hasSize(3)
+                .extracting("excerpt", "wordCount")
+                .containsExactlyInAnyOrder(
+                        tuple("글내용1 입니다", 2),
+                        tuple("글내용2 입니다", 2),
+                        tuple("글내용3 입니다", 2)
+                );
+    }
+}
@@ -16,31 +16,26 @@ class PostImageRepositoryTest extends IntegrationTestSupport {
     @Autowired
     private PostImageRepository postImageRepository;
 
-    @DisplayName("글 이미지를 파일 이름으로 한번에 삭제한다.")
+    @DisplayName("아직 글에 붙지 않은 이미지만 UPDATE 한번으로 글에 붙이고, 붙은 파일 이름을 조회한다.")
     @Test
-    void deleteAllByFileNameInQuery() {
+    void attachAllToPost() {
         // given
-        String image1 = "image1";
-        String image2 = "image2";
-        String image3 = "image3";
-
-        PostImage postImage1 = PostImage.builder()
-                .fileName(image1)
-                .build();
-        PostImage postImage2 = PostImage.builder()
-                .fileName(image2)
-                .build();
-        PostImage postImage3 = PostImage.builder()
-                .fileName(image3)
-                .build();
-        postImageRepository.saveAll(List.of(postImage1, postImage2, postImage3));
+        postImageRepository.saveAll(List.of(
+                PostImage.builder().fileName("image1").build(),
+                PostImage.builder().fileName("image2").build(),
+                PostImage.builder().postId(2L).fileName("image3").build()
+        ));
 
         // when
-        postImageRepository.deleteAllByFileNameInQuery(List.of(image1, image2, image3));
+        int attached = postImageRepository.attachAllToPost(List.of("image1", "image2", "image3", "image4"), 1L);
 
         // then
-        assertThat(postImageRepository.findAll()).hasSize(0);
-
+        assertThat(attached).isEqualTo(2);
+        assertThat(postImageRepository.findAttachedFileNames(List.of("image1", "image2", "image3", "image4"), 1L))
+                .containsExactlyInAnyOrder("image1", "image2");
+        assertThat(postImageRepository.findAllByPostId(2L))
+                .extracting("fileName")
+                .containsExactly("image3");
     }
 
-}
\ No newline at end of file
+}
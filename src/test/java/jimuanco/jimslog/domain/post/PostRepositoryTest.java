@@ -2,11 +2,17 @@ package jimuanco.jimslog.domain.post;
 
 import jimuanco.jimslog.IntegrationTestSupport;
 import jimuanco.jimslog.api.service.post.request.PostSearchServiceRequest;
+import jimuanco.jimslog.api.service.post.response.PostSummaryResponse;
 import jimuanco.jimslog.domain.menu.Menu;
 import jimuanco.jimslog.domain.menu.MenuRepository;
+import jimuanco.jimslog.domain.tag.PostTag;
+import jimuanco.jimslog.domain.tag.PostTagRepository;
+import jimuanco.jimslog.domain.tag.Tag;
+import jimuanco.jimslog.domain.tag.TagRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +28,12 @@ class PostRepositoryTest extends IntegrationTestSupport {
     @Autowired
     private MenuRepository menuRepository;
 
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostTagRepository postTagRepository;
+
     @DisplayName("서브 메뉴에 속한 글들을 Id 내림차순으로 조회한다.")
     @Test
     void getSubMenuPostList() {
@@ -64,11 +76,11 @@ class PostRepositoryTest extends IntegrationTestSupport {
                 .build();
 
         // when
-        List<Post> postList = postRepository.getPostList(request, List.of(subMenu1_1.getId()));
+        List<PostSummaryResponse> postList = postRepository.getPostList(request, List.of(subMenu1_1.getId()), null);
 
         // then
         assertThat(postList).hasSize(3)
-                .extracting("title", "content")
+                .extracting("title", "excerpt")
                 .containsExactly(
                         tuple("글제목3", "글내용3"),
                         tuple("글제목2", "글내용2"),
@@ -124,12 +136,13 @@ class PostRepositoryTest extends IntegrationTestSupport {
                 .build();
 
         // when
-        List<Post> postList =
-                postRepository.getPostList(request, List.of(mainMenu1.getId(), subMenu1_1.getId(), subMenu1_2.getId()));
+        List<PostSummaryResponse> postList =
+                postRepository.getPostList(request,
+                        List.of(mainMenu1.getId(), subMenu1_1.getId(), subMenu1_2.getId()), null);
 
         // then
         assertThat(postList).hasSize(3)
-                .extracting("title", "content")
+                .extracting("title", "excerpt")
                 .containsExactly(
                         tuple("글제목3", "글내용3"),
                         tuple("글제목2", "글내용2"),
@@ -137,4 +150,142 @@ class PostRepositoryTest extends IntegrationTestSupport {
                 );
     }
 
+    @DisplayName("after 커서가 주어지면 커서보다 작은 Id의 글들을 Id 내림차순으로 조회한다.")
+    @Test
+    void getPostListAfterCursor() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        List<Post> posts = createPosts(mainMenu1, 5);
+        postRepository.saveAll(posts);
+
+        PostSearchServiceRequest request = PostSearchServiceRequest.builder()
+                .page(3)
+                .size(2)
+                .menuId(Math.toIntExact(mainMenu1.getId()))
+                .after(posts.get(3).getId())
+                .build();
+
+        // when
+        List<PostSummaryResponse> postList = postRepository.getPostList(request, List.of(mainMenu1.getId()), null);
+
+        // then
+        assertThat(postList).hasSize(2)
+                .extracting("title")
+                .containsExactly("글제목3", "글제목2");
+    }
+
+    @DisplayName("before 커서가 주어지면 커서보다 큰 Id의 글들 중 가까운 글들을 Id 내림차순으로 조회한다.")
+    @Test
+    void getPostListBeforeCursor() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        List<Post> posts = createPosts(mainMenu1, 5);
+        postRepository.saveAll(posts);
+
+        PostSearchServiceRequest request = PostSearchServiceRequest.builder()
+                .size(2)
+                .menuId(Math.toIntExact(mainMenu1.getId()))
+                .before(posts.get(1).getId())
+                .build();
+
+        // when
+        List<PostSummaryResponse> postList = postRepository.getPostList(request, List.of(mainMenu1.getId()), null);
+
+        // then
+        assertThat(postList).hasSize(2)
+                .extracting("title")
+                .containsExactly("글제목4", "글제목3");
+    }
+
+    @DisplayName("글 목록은 글 내용 전체 대신 저장된 요약과 단어 수만 조회한다.")
+    @Test
+    void getPostListWithExcerpt() {
+        // given
+        Menu mainMenu1 = Menu.builder()
+                .name("1. 메뉴")
+                .listOrder(1)
+                .children(new ArrayList<>())
+                .build();
+        menuRepository.save(mainMenu1);
+
+        String content = "## 제목\n**" + "가".repeat(500) + "** 나다 ![image](https://image.png)";
+        Post post = Post.builder()
+                .title("글제목")
+                .content(content)
+                .menu(mainMenu1)
+                .build();
+        postRepository.save(post);
+
+        PostSearchServiceRequest request = PostSearchServiceRequest.builder()
+                .page(1)
+                .size(10)
+                .menuId(Math.toIntExact(mainMenu1.getId()))
+                .build();
+
+        // when
+        List<PostSummaryResponse> postList = postRepository.getPostList(request, List.of(mainMenu1.getId()), null);
+
+        // then
+        assertThat(postList).hasSize(1)
+                .extracting("id", "menuId", "excerpt", "wordCount")
+                .containsExactly(
+                        tuple(post.getId(), mainMenu1.getId(), "제목 " + "가".repeat(197), 3)
+                );
+    }
+
+    @Transactional
+    @DisplayName("태그가 달린 글들을 Id 커서 이후부터 Id 내림차순으로 조회한다.")
+    @Test
+    void getTagPostList() {
+        // given
+        Tag spring = tagRepository.save(Tag.builder().name("스프링").build());
+        Tag jpa = tagRepository.save(Tag.builder().name("jpa").build());
+
+        List<Post> posts = postRepository.saveAll(createPosts(null, 5));
+        postTagRepository.saveAll(List.of(
+                PostTag.builder().post(posts.get(0)).tag(spring).build(),
+                PostTag.builder().post(posts.get(1)).tag(jpa).build(),
+                PostTag.builder().post(posts.get(2)).tag(spring).build(),
+                PostTag.builder().post(posts.get(3)).tag(spring).build(),
+                PostTag.builder().post(posts.get(3)).tag(jpa).build(),
+                PostTag.builder().post(posts.get(4)).tag(spring).build()
+        ));
+
+        PostSearchServiceRequest request = PostSearchServiceRequest.builder()
+                .size(2)
+                .after(posts.get(4).getId())
+                .build();
+
+        // when
+        List<PostSummaryResponse> postList = postRepository.getPostList(request, List.of(0L), spring.getId());
+
+        // then
+        assertThat(postList).hasSize(2)
+                .extracting("title")
+                .containsExactly("글제목4", "글제목3");
+    }
+
+    private List<Post> createPosts(Menu menu, int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            posts.add(Post.builder()
+                    .title("글제목" + i)
+                    .content("글내용" + i)
+                    .menu(menu)
+                    .build());
+        }
+        return posts;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package jimuanco.jimslog.utils;
+
+import jimuanco.jimslog.exception.InvalidCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilsTest {
+
+    @DisplayName("글 ID로 만든 커서를 다시 글 ID로 변환한다.")
+    @Test
+    void encodeAndDecode() {
+        // given
+        String cursor = CursorUtils.encode(123L);
+
+        // when
+        Long id = CursorUtils.decode(cursor);
+
+        // then
+        assertThat(id).isEqualTo(123L);
+    }
+
+    @DisplayName("커서가 없으면 null을 반환한다.")
+    @Test
+    void decodeEmptyCursor() {
+        assertThat(CursorUtils.decode(null)).isNull();
+        assertThat(CursorUtils.decode("")).isNull();
+    }
+
+    @DisplayName("형식이 잘못된 커서는 예외가 발생한다.")
+    @Test
+    void decodeInvalidCursor() {
+        assertThatThrownBy(() -> CursorUtils.decode("invalid-cursor!"))
+                .isInstanceOf(InvalidCursor.class)
+                .hasMessage("유효하지 않은 커서입니다.");
+
+        assertThatThrownBy(() -> CursorUtils.decode("MTIz"))
+                .isInstanceOf(InvalidCursor.class);
+    }
+}
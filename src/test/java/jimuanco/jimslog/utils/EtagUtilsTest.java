@@ -0,0 +1,36 @@
+package jimuanco.jimslog.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EtagUtilsTest {
+
+    @DisplayName("같은 값들로 만든 ETag는 같고, 따옴표로 감싼 strong ETag이다.")
+    @Test
+    void sameValuesMakeSameEtag() {
+        // when
+        String etag1 = EtagUtils.of(List.of(1L, "글제목"));
+        String etag2 = EtagUtils.of(List.of(1L, "글제목"));
+
+        // then
+        assertThat(etag1).isEqualTo(etag2)
+                .startsWith("\"")
+                .endsWith("\"")
+                .doesNotStartWith("W/");
+    }
+
+    @DisplayName("값의 경계가 달라지면 ETag도 달라진다.")
+    @Test
+    void differentBoundariesMakeDifferentEtag() {
+        // when
+        String etag1 = EtagUtils.of(List.of("ab", "c"));
+        String etag2 = EtagUtils.of(List.of("a", "bc"));
+
+        // then
+        assertThat(etag1).isNotEqualTo(etag2);
+    }
+}
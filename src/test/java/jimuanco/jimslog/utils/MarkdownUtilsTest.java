@@ -0,0 +1,62 @@
+package jimuanco.jimslog.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownUtilsTest {
+
+    @DisplayName("Markdown과 HTML 문법을 제거한 순수 텍스트로 변환한다.")
+    @Test
+    void toPlainText() {
+        // given
+        String markdown = "# 제목입니다\n" +
+                "> 인용문\n" +
+                "- **굵은** 글씨와 `코드`\n" +
+                "![image](https://s3.com/images/image.png)\n" +
+                "[링크](https://jimuanco.com) <br/> 끝&nbsp;\n" +
+                "```java\n" +
+                "int a = 1;\n" +
+                "```";
+
+        // when
+        String plainText = MarkdownUtils.toPlainText(markdown);
+
+        // then
+        assertThat(plainText).isEqualTo("제목입니다 인용문 굵은 글씨와 코드 링크 끝 int a = 1;");
+    }
+
+    @DisplayName("요약문은 최대 길이를 넘지 않는다.")
+    @Test
+    void excerpt() {
+        // given
+        String plainText = "가".repeat(300);
+
+        // when
+        String excerpt = MarkdownUtils.excerpt(plainText, 200);
+
+        // then
+        assertThat(excerpt).hasSize(200);
+    }
+
+    @DisplayName("요약문을 자를때 이모지가 깨지지 않는다.")
+    @Test
+    void excerptWithSurrogatePair() {
+        // given
+        String plainText = "가".repeat(199) + "😀";
+
+        // when
+        String excerpt = MarkdownUtils.excerpt(plainText, 200);
+
+        // then
+        assertThat(excerpt).isEqualTo("가".repeat(199));
+    }
+
+    @DisplayName("공백 기준으로 단어 수를 센다.")
+    @Test
+    void countWords() {
+        assertThat(MarkdownUtils.countWords("나만의 블로그 프로젝트 입니다")).isEqualTo(4);
+        assertThat(MarkdownUtils.countWords(" ")).isEqualTo(0);
+    }
+}
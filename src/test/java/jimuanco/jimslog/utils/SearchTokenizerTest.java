@@ -0,0 +1,72 @@
+package jimuanco.jimslog.utils;
+
+import jimuanco.jimslog.utils.SearchTokenizer.Token;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SearchTokenizerTest {
+
+    @DisplayName("한글은 2글자씩 겹쳐 자르고, 영문은 소문자 단어로 자른다.")
+    @Test
+    void tokenizeKoreanAndEnglish() {
+        // when
+        List<String> terms = SearchTokenizer.terms("Spring 스프링부트 시작");
+
+        // then
+        assertThat(terms).containsExactly("spring", "스프", "프링", "링부", "부트", "시작");
+    }
+
+    @DisplayName("한글 한 글자 구간은 그대로 하나의 단어가 된다.")
+    @Test
+    void tokenizeSingleKoreanCharacter() {
+        // when
+        List<String> terms = SearchTokenizer.terms("책 JPA2");
+
+        // then
+        assertThat(terms).containsExactly("책", "jpa2");
+    }
+
+    @DisplayName("한글과 영문이 붙어 있으면 문자 종류가 바뀌는 곳에서 나눈다.")
+    @Test
+    void tokenizeMixedScripts() {
+        // when
+        List<String> terms = SearchTokenizer.terms("Java스크립트!");
+
+        // then
+        assertThat(terms).containsExactly("java", "스크", "크립", "립트");
+    }
+
+    @DisplayName("토큰의 offset은 입력 문자열 기준이다.")
+    @Test
+    void tokenOffsets() {
+        // when
+        List<Token> tokens = SearchTokenizer.tokenize("# 자바 JPA");
+
+        // then
+        assertThat(tokens).extracting("term", "startOffset", "endOffset")
+                .containsExactly(
+                        tuple("자바", 2, 4),
+                        tuple("jpa", 5, 8)
+                );
+    }
+
+    @DisplayName("검색어에 해당하는 구간을 찾고, 겹치는 bigram 구간은 하나로 합친다.")
+    @Test
+    void highlight() {
+        // when
+        List<Token> highlights = SearchTokenizer.highlight("오늘은 스프링 공부, Spring", Set.of("스프", "프링", "spring"));
+
+        // then
+        assertThat(highlights).extracting("term", "startOffset", "endOffset")
+                .containsExactly(
+                        tuple("스프링", 4, 7),
+                        tuple("Spring", 12, 18)
+                );
+    }
+}